@@ -34,7 +34,57 @@ dependencies {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("leak", "benchmark")
+    }
+    dependsOn(tasks.jar)
+    maxParallelForks = 1
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(17))
+        vendor.set(JvmVendorSpec.ADOPTIUM)
+    })
+}
+
+// The plugin jar doubles as the Java agent that applies reloaded FXML classes to a running application.
+tasks.jar {
+    manifest {
+        attributes(
+            "Premain-Class" to "org.jfxcore.gradle.agent.FxmlReloadAgent",
+            "Agent-Class" to "org.jfxcore.gradle.agent.FxmlReloadAgent",
+            "Can-Redefine-Classes" to "true")
+    }
+}
+
+// Runs hundreds of builds in a single TestKit daemon to detect metaspace and class loader leaks.
+// This takes several minutes, so it is not part of the regular test task.
+val leakTest by tasks.registering(Test::class) {
+    description = "Runs the daemon leak harness."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("leak")
+    }
+    dependsOn(tasks.jar)
+    maxParallelForks = 1
+    javaLauncher.set(javaToolchains.launcherFor {
+        languageVersion.set(JavaLanguageVersion.of(17))
+        vendor.set(JvmVendorSpec.ADOPTIUM)
+    })
+}
+
+// Measures the overhead of the plugin in a build with many modules that don't contain FXML documents.
+val benchmark by tasks.registering(Test::class) {
+    description = "Runs the many-module benchmark."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
     dependsOn(tasks.jar)
     maxParallelForks = 1
     javaLauncher.set(javaToolchains.launcherFor {
@@ -6,29 +6,47 @@ package org.jfxcore.gradle;
 import org.gradle.api.GradleException;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.Directory;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.FileTree;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.provider.Provider;
-import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.api.tasks.compile.JavaCompile;
+import org.gradle.api.tasks.javadoc.Javadoc;
 import org.gradle.api.tasks.util.PatternSet;
+import org.gradle.language.base.plugins.LifecycleBasePlugin;
 import org.gradle.process.CommandLineArgumentProvider;
+import org.gradle.tooling.provider.model.ToolingModelBuilderRegistry;
+import org.jfxcore.gradle.tasks.CheckFxmlTask;
+import org.jfxcore.gradle.tasks.CleanEmbeddedDescriptorsAction;
+import org.jfxcore.gradle.tasks.CompilationGovernor;
+import org.jfxcore.gradle.tasks.CompileFxmlTask;
+import org.jfxcore.gradle.tasks.ConditionalTaskAction;
+import org.jfxcore.gradle.tasks.ExplainRerunAction;
 import org.jfxcore.gradle.tasks.FxmlSourceInfo;
+import org.jfxcore.gradle.tasks.GenerateClassListTask;
+import org.jfxcore.gradle.tasks.GenerateFxmlStubsTask;
 import org.jfxcore.gradle.tasks.ProcessFxmlTask;
-import org.jfxcore.gradle.tasks.RunCompilerAction;
+import org.jfxcore.gradle.tasks.ReloadFxmlTask;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
+import javax.inject.Inject;
 
 public final class CompilerPlugin implements Plugin<Project> {
 
@@ -37,12 +55,39 @@ public final class CompilerPlugin implements Plugin<Project> {
     private static final String KOTLIN_PLUGIN_ID = "org.jetbrains.kotlin.jvm";
     private static final String KSP_PLUGIN_ID = "com.google.devtools.ksp";
     private static final String FXML_EXTENSION = "fxml";
+    private static final String LOCAL_OUTPUT_CACHE_DIR = "caches/jfxcore-fxml/outputs";
+    private static final long LOCAL_OUTPUT_CACHE_SIZE = 512;
+    private static final String PRELOAD_MANIFEST_DIR = "META-INF/jfxcore";
+
+    /**
+     * The names of the intermediate directories of a source set, in the order of
+     * FXML documents, Java annotation processing and Kotlin symbol processing.
+     */
+    static final List<String> INTERMEDIATE_BUILD_DIRS = List.of("default", "annotationProcessor", "ksp");
+
+    private final ToolingModelBuilderRegistry toolingModelBuilderRegistry;
+
+    @Inject
+    public CompilerPlugin(ToolingModelBuilderRegistry toolingModelBuilderRegistry) {
+        this.toolingModelBuilderRegistry = toolingModelBuilderRegistry;
+    }
 
     @Override
     public void apply(Project project) {
+        // IDEs request the FXML model during import, which must not require FXML tasks to run.
+        toolingModelBuilderRegistry.register(new FxmlModelBuilder());
+
         var extension = project.getExtensions().create(CompilerPluginExtension.NAME, CompilerPluginExtension.class);
         extension.getAnnotationProcessing().convention(false);
         extension.getSourceFileExtensions().convention(List.of(FXML_EXTENSION));
+        extension.getLocalOutputCache().convention(false);
+        extension.getLocalOutputCacheSize().convention(LOCAL_OUTPUT_CACHE_SIZE);
+        extension.getCompilerThreads().convention(1);
+        extension.getPreloadManifest().convention(false);
+        extension.getExplainReruns().convention(false);
+        extension.getDisabledSourceSets().convention(Set.of());
+        extension.getIncludes().convention(List.of());
+        extension.getExcludes().convention(List.of());
 
         // For Kotlin projects that have enabled annotation processing, consumers must apply the
         // Kotlin Symbol Processing plugin so the symbol processor can be wired in.
@@ -61,6 +106,17 @@ public final class CompilerPlugin implements Plugin<Project> {
                 }
             }));
 
+        // FXML compilations of all projects share the heap of the daemon, so they are governed by a single service.
+        Provider<CompilationGovernor> compilationGovernor = project.getGradle().getSharedServices().registerIfAbsent(
+            CompilationGovernor.NAME, CompilationGovernor.class, spec -> {
+                spec.getMaxParallelUsages().set(project.getProviders()
+                    .gradleProperty(CompilationGovernor.MAX_PARALLEL_COMPILATIONS_PROPERTY)
+                    .map(Integer::parseInt));
+                spec.getParameters().getHeapBudget().set(project.getProviders()
+                    .gradleProperty(CompilationGovernor.HEAP_BUDGET_PROPERTY)
+                    .map(value -> Long.parseLong(value) * 1024 * 1024));
+            });
+
         var javaPluginApplied = new AtomicBoolean();
 
         // Plugin blocks are ordered, and users should not need to put this plugin after the Java plugin.
@@ -68,12 +124,12 @@ public final class CompilerPlugin implements Plugin<Project> {
         project.getPluginManager().withPlugin("java", ignored -> {
             javaPluginApplied.set(true);
 
+            // The tasks are registered before the build script is evaluated, so that they are available as
+            // Kotlin DSL accessors and can be configured by the build script.
             project.getExtensions()
                 .getByType(SourceSetContainer.class)
                 .configureEach(sourceSet -> configureTasksForSourceSet(
-                    project, sourceSet,
-                    extension.getAnnotationProcessing(),
-                    extension.getSourceFileExtensions()));
+                    project, sourceSet, extension, compilationGovernor));
         });
 
         project.afterEvaluate(ignored -> {
@@ -87,8 +143,15 @@ public final class CompilerPlugin implements Plugin<Project> {
 
     private void configureTasksForSourceSet(Project project,
                                             SourceSet sourceSet,
-                                            Provider<Boolean> annotationProcessing,
-                                            Provider<List<String>> sourceFileExtensions) {
+                                            CompilerPluginExtension extension,
+                                            Provider<CompilationGovernor> compilationGovernor) {
+        // Source sets are configured before the build script can disable them, so the wiring of the source set
+        // is conditional. The FXML tasks of a disabled source set are skipped, and its compilation tasks have no
+        // FXML inputs, outputs, arguments or actions.
+        Provider<Boolean> sourceSetEnabled = extension.getDisabledSourceSets()
+            .map(disabledSourceSets -> !disabledSourceSets.contains(sourceSet.getName()));
+        Provider<Boolean> annotationProcessing = extension.getAnnotationProcessing()
+            .zip(sourceSetEnabled, (processing, enabled) -> processing && enabled);
         Provider<Directory> generatedSourcesDir = PathHelper.getGeneratedSourcesDirectory(project, sourceSet);
 
         // A Gradle file collection can carry task dependencies in addition to file paths. Later, this plugin adds
@@ -107,75 +170,286 @@ public final class CompilerPlugin implements Plugin<Project> {
         }));
 
         Provider<FileCollection> compileClasspath = project.provider(sourceSet::getCompileClasspath);
+
+        // In modular source sets, only the modules that are part of the module graph are observable by the
+        // compiled code. Pruning the others reduces the number of classpath entries the FXML compiler scans.
+        ConfigurableFileCollection fullSearchPath = project.getObjects().fileCollection();
+        fullSearchPath.from(compileClasspath);
+        ConfigurableFileCollection moduleSearchPath = project.getObjects().fileCollection();
+        moduleSearchPath.from(fullSearchPath.getElements().map(new ModuleGraphFilter(flattenedSourceDirs)));
+
         ConfigurableFileCollection processorSearchPath = project.getObjects().fileCollection();
-        processorSearchPath.from(compileClasspath);
+        processorSearchPath.from(moduleSearchPath);
+
+        // The bytecode rewrite also sees the other output directories of the source set, like the classes of Kotlin
+        // and the resources. The Java classes directory is the output of compileFxml, which adds it to the search path
+        // of the FXML compiler when it runs. The other directories are read as plain files, so that compileFxml
+        // doesn't depend on itself, and depend on the producers of the source set output instead. The producers that
+        // run after compileFxml are left out, which are the classes task, and the compilers of Groovy and Scala that
+        // compile against the rewritten Java classes. The resources are only produced for the classes task.
+        String compileFxmlTaskName = sourceSet.getTaskName(CompileFxmlTask.VERB, CompileFxmlTask.TARGET);
+        ConfigurableFileCollection otherOutputDirs = project.getObjects().fileCollection();
+        otherOutputDirs.from(project.provider(() -> {
+            List<File> outputDirs = new ArrayList<>(sourceSet.getOutput().getFiles());
+            outputDirs.remove(sourceSet.getJava().getDestinationDirectory().get().getAsFile());
+
+            for (Task task : sourceSet.getOutput().getBuildDependencies().getDependencies(null)) {
+                if (runsAfterTask(task, compileFxmlTaskName)) {
+                    outputDirs.removeAll(task.getOutputs().getFiles().getFiles());
+                }
+            }
 
-        ConfigurableFileCollection postCompileSearchPath = project.getObjects().fileCollection();
-        postCompileSearchPath.from(compileClasspath);
-        postCompileSearchPath.from(sourceSet.getOutput());
+            return outputDirs;
+        }));
+        otherOutputDirs.builtBy(project.provider(() -> sourceSet.getOutput().getBuildDependencies()
+            .getDependencies(null).stream()
+            .filter(task -> !runsAfterTask(task, compileFxmlTaskName))
+            .toList()));
+        otherOutputDirs.builtBy(sourceSet.getProcessResourcesTaskName());
 
-        Provider<Directory> classesDir = project.getLayout().dir(project.provider(() ->
-            project.getTasks()
-                .named(sourceSet.getCompileJavaTaskName(), JavaCompile.class)
-                .get().getDestinationDirectory().get().getAsFile()));
+        ConfigurableFileCollection postCompileSearchPath = project.getObjects().fileCollection();
+        postCompileSearchPath.from(moduleSearchPath, otherOutputDirs);
 
         // The intermediate directories are used by the FXML compiler to store compilation unit descriptors.
-        Provider<Directory> intermediateBuildDir = getIntermediateBuildDir(project, sourceSet, "default");
-        Provider<Directory> embeddedIntermediateBuildDir = getIntermediateBuildDir(project, sourceSet, "annotationProcessor");
-        Provider<Directory> embeddedKotlinIntermediateBuildDir = getIntermediateBuildDir(project, sourceSet, "ksp");
+        Provider<Directory> intermediateBuildDir =
+            getIntermediateBuildDir(project, sourceSet, INTERMEDIATE_BUILD_DIRS.get(0));
+        Provider<Directory> embeddedIntermediateBuildDir =
+            getIntermediateBuildDir(project, sourceSet, INTERMEDIATE_BUILD_DIRS.get(1));
+        Provider<Directory> embeddedKotlinIntermediateBuildDir =
+            getIntermediateBuildDir(project, sourceSet, INTERMEDIATE_BUILD_DIRS.get(2));
+
+        // The time history records how long it took to rewrite the classes. It is not an input of any task,
+        // and must not be placed in one of the intermediate directories that are tracked by compileFxml.
+        Provider<RegularFile> compilationTimeHistory = project.getLayout().getBuildDirectory()
+            .file("fxml/compilation-times/" + sourceSet.getName() + ".txt");
+
+        // Keep the task inputs live so additions and renames are visible when the configuration cache is
+        // reused. Enumerating the directory here would freeze the set of file paths in the cached model.
+        Provider<List<FxmlSourceInfo>> fxmlSourceInfo = project.provider(() -> sourceSetEnabled.get()
+            ? flattenedSourceDirs.getFiles().stream()
+                .map(sourceDir -> createSourceInfo(project, sourceDir, extension))
+                .toList()
+            : List.of());
 
         Provider<ProcessFxmlTask> processFxmlTask = project.getTasks().register(
             sourceSet.getTaskName(ProcessFxmlTask.VERB, ProcessFxmlTask.TARGET),
             ProcessFxmlTask.class, task -> {
+                onlyIfEnabled(task, sourceSetEnabled);
                 task.getSearchPath().set(processorSearchPath);
                 task.getCompileClasspath().set(compileClasspath);
-                task.getClassesDir().set(classesDir);
                 task.getGeneratedSourcesDir().set(generatedSourcesDir);
                 task.getIntermediateBuildDir().convention(intermediateBuildDir);
+                task.getLocalOutputCacheDir().set(getLocalOutputCacheDir(project, extension.getLocalOutputCache()));
+                task.getLocalOutputCacheSize().set(extension.getLocalOutputCacheSize());
+                task.getExplainReruns().set(extension.getExplainReruns());
+                task.getRerunSnapshotFile().set(getRerunSnapshotFile(project, sourceSet, task.getName()));
+                task.getCompilationGovernor().set(compilationGovernor);
+
+                task.getFxmlSourceInfo().set(fxmlSourceInfo);
+            });
 
-                // Keep the task inputs live so additions and renames are visible when the configuration cache is
-                // reused. Enumerating the directory here would freeze the set of file paths in the cached model.
-                task.getFxmlSourceInfo().set(
-                    project.provider(() -> flattenedSourceDirs.getFiles().stream()
-                        .map(sourceDir -> createSourceInfo(project, sourceDir, sourceFileExtensions))
-                        .toList()));
+        project.getTasks().register(
+            sourceSet.getTaskName(CheckFxmlTask.VERB, CheckFxmlTask.TARGET),
+            CheckFxmlTask.class, task -> {
+                onlyIfEnabled(task, sourceSetEnabled);
+                task.setGroup(LifecycleBasePlugin.VERIFICATION_GROUP);
+                task.setDescription("Parses and validates the FXML documents of the '" + sourceSet.getName()
+                    + "' source set without generating or compiling any classes.");
+                task.getSearchPath().set(processorSearchPath);
+                task.getFxmlSourceInfo().set(fxmlSourceInfo);
+                task.getReportFile().set(project.getLayout().getBuildDirectory()
+                    .file("fxml/check/" + sourceSet.getName() + "/checked-files.txt"));
+                task.getCompilationGovernor().set(compilationGovernor);
             });
 
+        TaskProvider<JavaCompile> compileJavaTask =
+            project.getTasks().named(sourceSet.getCompileJavaTaskName(), JavaCompile.class);
+
+        // The Java compiler writes its classes to an intermediate directory, and compileFxml writes them to the
+        // classes directory of the source set after rewriting the bytecode of the FXML classes. As compileJava does
+        // not depend on the descriptors, markup changes that keep the Java stubs unchanged don't recompile Java.
+        TaskProvider<CompileFxmlTask> compileFxmlTask = project.getTasks().register(
+            compileFxmlTaskName,
+            CompileFxmlTask.class, task -> {
+                onlyIfEnabled(task, sourceSetEnabled);
+                task.setDescription("Rewrites the bytecode of the FXML classes of the '"
+                    + sourceSet.getName() + "' source set.");
+                task.getJavaClassesDirs().from(compileJavaTask.flatMap(JavaCompile::getDestinationDirectory));
+                task.getIntermediateBuildDirs().from(
+                    intermediateBuildDir, embeddedIntermediateBuildDir, embeddedKotlinIntermediateBuildDir);
+                task.getSearchPath().from(postCompileSearchPath);
+                task.getTimeHistoryFile().set(compilationTimeHistory);
+                task.getCompilerThreads().set(extension.getCompilerThreads());
+                task.getCompilationGovernor().set(compilationGovernor);
+
+                // Attribute reruns to the descriptors, since markup changes no longer rerun compileJava.
+                Map<String, FileCollection> fileInputs = new LinkedHashMap<>();
+                fileInputs.put("FXML descriptor", task.getIntermediateBuildDirs());
+                Provider<Map<String, String>> valueInputs = project.provider(LinkedHashMap::new);
+
+                ExplainRerunAction explainRerun = project.getObjects().newInstance(
+                    ExplainRerunAction.class, extension.getExplainReruns(),
+                    getRerunSnapshotFile(project, sourceSet, task.getName()),
+                    project.getLayout().getProjectDirectory(), fileInputs, valueInputs);
+
+                task.doFirst(explainRerun);
+                task.doLast(explainRerun.saveSnapshotAction());
+            });
+
+        // The classes directory of the source set is produced by compileFxml, which also makes the consumers of the
+        // source set output, like the jar task, depend on compileFxml. The classes task of the Java plugin only
+        // depends on the compile task, so it needs to depend on compileFxml explicitly.
+        sourceSet.getJava().compiledBy(compileFxmlTask, CompileFxmlTask::getClassesDir);
+        project.getTasks().named(sourceSet.getClassesTaskName(), task -> task.dependsOn(compileFxmlTask));
+        Provider<Directory> classesDir = compileFxmlTask.flatMap(CompileFxmlTask::getClassesDir);
+
+        TaskProvider<GenerateClassListTask> classListTask = project.getTasks().register(
+            sourceSet.getTaskName(GenerateClassListTask.VERB, GenerateClassListTask.TARGET),
+            GenerateClassListTask.class, task -> {
+                onlyIfEnabled(task, sourceSetEnabled);
+                // The published files are kept apart from the intermediate directories,
+                // which are inputs of other tasks.
+                Provider<Directory> outputDir = project.getLayout().getBuildDirectory()
+                    .dir("fxml-classlist/" + sourceSet.getName());
+                task.setDescription("Generates an AppCDS class list of the FXML classes of the '"
+                    + sourceSet.getName() + "' source set.");
+                task.getIntermediateBuildDirs().from(
+                    intermediateBuildDir, embeddedIntermediateBuildDir, embeddedKotlinIntermediateBuildDir);
+                task.getClassesDir().set(classesDir);
+                task.getClassListFile().set(outputDir.map(dir -> dir.file("classlist")));
+                task.getPreloadManifestFile().set(outputDir.map(dir -> dir.file("fxml-preload.txt")));
+            });
+
+        project.getTasks().register(
+            sourceSet.getTaskName(ReloadFxmlTask.VERB, ReloadFxmlTask.TARGET),
+            ReloadFxmlTask.class, task -> {
+                onlyIfEnabled(task, sourceSetEnabled);
+                Provider<Directory> reloadDir = getIntermediateBuildDir(project, sourceSet, "reload");
+                task.setDescription("Sends the changed FXML classes of the '" + sourceSet.getName()
+                    + "' source set to a running application.");
+                task.dependsOn(sourceSet.getClassesTaskName());
+                task.getIntermediateBuildDirs().from(
+                    intermediateBuildDir, embeddedIntermediateBuildDir, embeddedKotlinIntermediateBuildDir);
+                task.getClassesDir().set(classesDir);
+                task.getReloadDir().set(reloadDir.map(dir -> dir.dir("requests")));
+                task.getSnapshotFile().set(reloadDir.map(dir -> dir.file("snapshot.txt")));
+            });
+
+        TaskProvider<GenerateFxmlStubsTask> stubsTask = project.getTasks().register(
+            sourceSet.getTaskName(GenerateFxmlStubsTask.VERB, GenerateFxmlStubsTask.TARGET),
+            GenerateFxmlStubsTask.class, task -> {
+                onlyIfEnabled(task, sourceSetEnabled);
+                task.setDescription("Generates the Java stubs of the FXML documents of the '"
+                    + sourceSet.getName() + "' source set.");
+                task.getSearchPath().set(processorSearchPath);
+                task.getFxmlSourceInfo().set(fxmlSourceInfo);
+                task.getGeneratedSourcesDir().set(project.getLayout().getBuildDirectory()
+                    .dir("generated/sources/fxmlStubs/java/" + sourceSet.getName()));
+                task.getCompilationGovernor().set(compilationGovernor);
+            });
+
+        // When processFxml and generateFxmlStubs run in the same build, like in builds that use withJavadocJar(),
+        // generateFxmlStubs copies the stubs of processFxml instead of generating them a second time.
+        stubsTask.configure(task -> task.mustRunAfter(processFxmlTask));
+        String processFxmlTaskPath = project.absoluteProjectPath(
+            sourceSet.getTaskName(ProcessFxmlTask.VERB, ProcessFxmlTask.TARGET));
+        String stubsTaskPath = project.absoluteProjectPath(stubsTask.getName());
+        project.getGradle().getTaskGraph().whenReady(graph -> {
+            if (graph.hasTask(processFxmlTaskPath) && graph.hasTask(stubsTaskPath)) {
+                stubsTask.get().getProcessedSourcesDir().set(
+                    processFxmlTask.flatMap(ProcessFxmlTask::getGeneratedSourcesDir));
+            }
+        });
+
+        configureJavadocTask(project, sourceSet, extension.getAnnotationProcessing()
+            .zip(sourceSetEnabled, (processing, enabled) -> !processing && enabled), stubsTask);
+
+        // Package the preload manifest into the jar of the source set, if the source set has a jar task.
+        Provider<List<RegularFile>> preloadManifest = extension.getPreloadManifest()
+            .zip(sourceSetEnabled, (preload, enabled) -> preload && enabled)
+            .flatMap(enabled -> enabled
+            ? classListTask.flatMap(GenerateClassListTask::getPreloadManifestFile).map(List::of)
+            : project.provider(List::of));
+
+        String jarTaskName = sourceSet.getJarTaskName();
+        project.getTasks().withType(Jar.class).configureEach(task -> {
+            if (task.getName().equals(jarTaskName)) {
+                task.from(preloadManifest, spec -> spec.into(PRELOAD_MANIFEST_DIR));
+            }
+        });
+
         // For each source set, add the corresponding generated sources directory, so it can be
         // picked up by the Java compiler.
-        sourceSet.getJava().srcDir(processFxmlTask.flatMap(ProcessFxmlTask::getGeneratedSourcesDir));
+        sourceSet.getJava().srcDir(project.files(sourceSetEnabled.map(enabled -> enabled
+            ? processFxmlTask.flatMap(ProcessFxmlTask::getGeneratedSourcesDir)
+            : List.of())));
+
+        // The Java compiler of a disabled source set writes to the classes directory, as compileFxml is skipped.
+        Provider<Directory> javacDestinationDir = getIntermediateBuildDir(project, sourceSet, "javac");
+        Provider<Directory> classesDestinationDir = sourceSet.getJava().getDestinationDirectory();
 
         project.getTasks().named(sourceSet.getCompileJavaTaskName(), JavaCompile.class, task -> {
-            // The generated Java stub can remain byte-for-byte identical even though the FXML file was changed.
-            // Include the descriptor contents in JavaCompile's identity so Gradle cannot restore bytecode rewritten
-            // for an older descriptor from the build cache and skip this task's post-compile action.
-            task.getInputs().dir(intermediateBuildDir)
-                .withPropertyName("org.jfxcore.compiler.fxmlDescriptors")
-                .withPathSensitivity(PathSensitivity.RELATIVE);
+            task.getDestinationDirectory().set(sourceSetEnabled.flatMap(
+                enabled -> enabled ? javacDestinationDir : classesDestinationDir));
+
+            // The markup annotation processor writes descriptors next to the compiled classes. They are declared
+            // as outputs, so that they are restored together with the classes when compileJava is loaded from the
+            // build cache, and compileFxml can rewrite the classes of ComponentView annotations.
+            task.getOutputs().dirs(sourceSetEnabled.map(enabled -> enabled
+                    ? List.of(embeddedIntermediateBuildDir)
+                    : List.of()))
+                .withPropertyName("org.jfxcore.compiler.embeddedFxmlDescriptors");
 
             // Several options need to be specified as Java compiler arguments, as they are required
             // when embedded FXML documents are processed by the markup annotation processor.
-            task.getOptions().getCompilerArgumentProviders().add(new CompilerArgumentsProvider(
+            var compilerArguments = new CompilerArgumentsProvider(
                 CompilerArgumentsProvider.Target.JAVA,
                 project.getObjects(), annotationProcessing,
                 flattenedSourceDirs, processorSearchPath, embeddedIntermediateBuildDir,
-                project.getLayout().getProjectDirectory()));
-
-            // Run the FXML compiler at the end of compileJava's action list. This is important for
-            // incremental compilation: Gradle will fingerprint the compiled class files after the
-            // last task action is executed, i.e. after the FXML compiler has rewritten the bytecode.
-            task.doLast(
+                project.getLayout().getProjectDirectory());
+
+            task.getOptions().getCompilerArgumentProviders().add(compilerArguments);
+
+            // Attribute reruns to the FXML inputs of compileJava, which are the inputs of the compiler arguments.
+            Map<String, FileCollection> fileInputs = new LinkedHashMap<>();
+            fileInputs.put("annotation processor search path entry", project.files(annotationProcessing.map(
+                enabled -> enabled ? processorSearchPath : List.of())));
+
+            ExplainRerunAction explainRerun = project.getObjects().newInstance(
+                ExplainRerunAction.class, extension.getExplainReruns(),
+                getRerunSnapshotFile(project, sourceSet, task.getName()),
+                project.getLayout().getProjectDirectory(), fileInputs,
+                project.provider(() -> {
+                    Map<String, String> values = new LinkedHashMap<>();
+                    values.put("annotation processing", compilerArguments.getEnabled().get().toString());
+                    values.put("annotation processor source directories",
+                        String.join(File.pathSeparator, compilerArguments.getSourceDirLayout()));
+                    return values;
+                }));
+
+            task.doFirst(new ConditionalTaskAction(sourceSetEnabled, explainRerun));
+
+            // The markup annotation processor writes descriptors outside of the javac Filer, so Gradle only cleans
+            // up the generated stubs of deleted or edited ComponentView classes. Remove descriptors that have lost
+            // their stub before compileFxml collects the descriptors it needs to process.
+            task.doLast(new ConditionalTaskAction(sourceSetEnabled,
                 project.getObjects().newInstance(
-                    RunCompilerAction.class, postCompileSearchPath,
-                    List.of(intermediateBuildDir, embeddedIntermediateBuildDir, embeddedKotlinIntermediateBuildDir),
-                    classesDir));
+                    CleanEmbeddedDescriptorsAction.class, embeddedIntermediateBuildDir,
+                    task.getOptions().getGeneratedSourceOutputDirectory())));
+
+            // The snapshot of the inputs only replaces the last one once compileJava has succeeded.
+            task.doLast(new ConditionalTaskAction(sourceSetEnabled, explainRerun.saveSnapshotAction()));
         });
 
+        Provider<List<Object>> processFxmlDependency = sourceSetEnabled.map(enabled -> enabled
+            ? List.of(processFxmlTask)
+            : List.of());
+
         for (String target : new String[] {"Java", "Kotlin", "Scala", "Groovy"}) {
             String compileTaskName = sourceSet.getTaskName("compile", target);
             project.getTasks().configureEach(task -> {
                 if (task.getName().equals(compileTaskName)) {
-                    task.dependsOn(processFxmlTask);
+                    task.dependsOn(processFxmlDependency);
                 }
             });
         }
@@ -193,47 +467,120 @@ public final class CompilerPlugin implements Plugin<Project> {
             String kspConfigurationName = sourceSet.getTaskName("ksp", "");
             addConditionalDependency(project, annotationProcessing, kspConfigurationName, CompilerPlugin::getCompilerJar);
 
-            // KSP generates Java stubs and FXML descriptors that must exist before Java compilation. mustRunAfter
-            // establishes that order whenever both tasks are scheduled without adding a new task dependency. The
-            // descriptors are also inputs of compileJava because markup can change while its generated Java stub
-            // remains identical, including them prevents Gradle from reusing bytecode rewritten for older markup.
-            project.getTasks()
-                .named(sourceSet.getCompileJavaTaskName(), JavaCompile.class)
-                .configure(compileJava -> {
-                    compileJava.mustRunAfter(kspTaskName);
-                    compileJava.getInputs().dir(embeddedKotlinIntermediateBuildDir)
-                        .withPropertyName("org.jfxcore.compiler.kspFxmlDescriptors")
-                        .withPathSensitivity(PathSensitivity.RELATIVE);
-                });
+            // KSP generates Java stubs and FXML descriptors that must exist before Java compilation and bytecode
+            // rewriting. mustRunAfter establishes that order whenever the tasks are scheduled without adding a new
+            // task dependency.
+            compileJavaTask.configure(compileJava -> compileJava.mustRunAfter(kspTaskName));
+            compileFxmlTask.configure(compileFxml -> compileFxml.mustRunAfter(kspTaskName));
 
             project.getTasks().configureEach(task -> {
                 if (task.getName().equals(kspTaskName)) {
-                    task.dependsOn(processFxmlTask);
+                    task.dependsOn(processFxmlDependency);
+
+                    // The descriptors are written outside of the outputs that KSP declares. They are outputs of the
+                    // task, so that they are restored together with the generated stubs from the build cache.
+                    task.getOutputs().dirs(sourceSetEnabled.map(enabled -> enabled
+                            ? List.of(embeddedKotlinIntermediateBuildDir)
+                            : List.of()))
+                        .withPropertyName("org.jfxcore.compiler.kspFxmlDescriptors");
 
                     addCommandLineArgumentProvider(task, new CompilerArgumentsProvider(
                         CompilerArgumentsProvider.Target.KOTLIN,
                         project.getObjects(), annotationProcessing,
                         flattenedSourceDirs, processorSearchPath, embeddedKotlinIntermediateBuildDir,
                         project.getLayout().getProjectDirectory()));
+
+                    // The symbol processor writes its descriptors outside of the KSP code generator as well, so
+                    // descriptors of deleted or edited ComponentView classes are removed in the same way.
+                    task.doLast(new ConditionalTaskAction(sourceSetEnabled,
+                        project.getObjects().newInstance(
+                            CleanEmbeddedDescriptorsAction.class, embeddedKotlinIntermediateBuildDir,
+                            project.getLayout().getBuildDirectory()
+                                .dir("generated/ksp/" + sourceSet.getName() + "/java"))));
                 }
             });
         });
     }
 
-    private Provider<Directory> getIntermediateBuildDir(Project project, SourceSet sourceSet, String name) {
+    /**
+     * Javadoc only needs the API of the generated classes. Document the Java sources together with the stubs of
+     * generateFxmlStubs instead of the outputs of processFxml, and document against the compile classpath instead
+     * of the compiled classes, so that generating Javadoc does not require compileJava to run. This doesn't apply
+     * to disabled source sets, and to annotation processing, whose classes only exist after compileJava. In these
+     * cases, the sources and classpath of the Java plugin are kept.
+     */
+    private static void configureJavadocTask(Project project,
+                                             SourceSet sourceSet,
+                                             Provider<Boolean> useStubs,
+                                             TaskProvider<GenerateFxmlStubsTask> stubsTask) {
+        Provider<Directory> generatedSourcesDir = PathHelper.getGeneratedSourcesDirectory(project, sourceSet);
+        String javadocTaskName = sourceSet.getJavadocTaskName();
+        String processFxmlTaskName = sourceSet.getTaskName(ProcessFxmlTask.VERB, ProcessFxmlTask.TARGET);
+
+        project.getTasks().withType(Javadoc.class).configureEach(task -> {
+            if (task.getName().equals(javadocTaskName)) {
+                FileCollection defaultClasspath = task.getClasspath();
+                FileCollection javaSourceDirs = project.files(project.provider(() -> {
+                    File generatedSources = generatedSourcesDir.get().getAsFile();
+                    ArrayList<File> result = new ArrayList<>(sourceSet.getJava().getSrcDirs());
+                    result.remove(generatedSources);
+                    return result;
+                }));
+
+                Provider<Directory> stubsDir = stubsTask.flatMap(GenerateFxmlStubsTask::getGeneratedSourcesDir);
+                FileTree stubSources = project.files(javaSourceDirs, stubsDir)
+                    .getAsFileTree()
+                    .matching(sourceSet.getJava().getFilter());
+
+                task.setSource(project.files(useStubs.map(
+                    enabled -> enabled ? stubSources : sourceSet.getAllJava())));
+
+                task.setClasspath(project.files(useStubs.map(
+                    enabled -> enabled ? sourceSet.getCompileClasspath() : defaultClasspath)));
+
+                // Flattening the source directories discards the producers of other generated sources,
+                // keep depending on all of them except processFxml.
+                task.dependsOn(useStubs.map(enabled -> enabled
+                    ? sourceSet.getJava().getBuildDependencies().getDependencies(null).stream()
+                        .filter(dependency -> !dependency.getName().equals(processFxmlTaskName))
+                        .toList()
+                    : List.of()));
+            }
+        });
+    }
+
+    /**
+     * Returns whether the task is the task with the specified name, or depends on it directly.
+     */
+    private static boolean runsAfterTask(Task task, String taskName) {
+        return task.getName().equals(taskName) || task.getTaskDependencies().getDependencies(task).stream()
+            .anyMatch(dependency -> dependency.getName().equals(taskName)
+                && dependency.getProject() == task.getProject());
+    }
+
+    private static void onlyIfEnabled(Task task, Provider<Boolean> sourceSetEnabled) {
+        task.onlyIf("FXML processing is enabled for the source set", ignored -> sourceSetEnabled.get());
+    }
+
+    private static Provider<RegularFile> getRerunSnapshotFile(Project project, SourceSet sourceSet, String taskName) {
+        return project.getLayout().getBuildDirectory()
+            .file("fxml/diagnostics/" + sourceSet.getName() + "/" + taskName + ".txt");
+    }
+
+    static Provider<Directory> getIntermediateBuildDir(Project project, SourceSet sourceSet, String name) {
         return project.getLayout().getBuildDirectory().dir("fxml/" + name + "/" + sourceSet.getName());
     }
 
-    private static FxmlSourceInfo createSourceInfo(
-            Project project, File sourceDir, Provider<List<String>> sourceFileExtensions) {
-        PatternSet patterns = new PatternSet();
-        patterns.include(element ->
-            element.isDirectory() || matchesExtension(
-                element.getName(), sourceFileExtensions.getOrElse(List.of())));
+    private Provider<Directory> getLocalOutputCacheDir(Project project, Provider<Boolean> enabled) {
+        File cacheDir = new File(project.getGradle().getGradleUserHomeDir(), LOCAL_OUTPUT_CACHE_DIR);
+        return project.getLayout().dir(enabled.map(value -> value ? cacheDir : null));
+    }
 
+    private static FxmlSourceInfo createSourceInfo(
+            Project project, File sourceDir, CompilerPluginExtension extension) {
         // FileTree.getElements() deliberately flattens the tree. Gradle then tracks only matching FXML files,
         // without inferring dependencies from unrelated generated files beneath a source root.
-        FileTree fxmlFileTree = project.fileTree(sourceDir).matching(patterns);
+        FileTree fxmlFileTree = getFxmlFileTree(project, sourceDir, extension);
         FileCollection fxmlFiles = project.files(fxmlFileTree.getElements());
         FxmlSourceInfo sourceInfo = project.getObjects().newInstance(FxmlSourceInfo.class);
         sourceInfo.getFxmlFiles().set(fxmlFiles);
@@ -241,6 +588,26 @@ public final class CompilerPlugin implements Plugin<Project> {
         return sourceInfo;
     }
 
+    /**
+     * Returns the FXML documents of a source directory that are selected by the file extensions,
+     * and the include and exclude patterns of the extension.
+     */
+    static FileTree getFxmlFileTree(Project project, File sourceDir, CompilerPluginExtension extension) {
+        Provider<List<String>> sourceFileExtensions = extension.getSourceFileExtensions();
+        PatternSet patterns = new PatternSet();
+        patterns.include(element ->
+            element.isDirectory() || matchesExtension(
+                element.getName(), sourceFileExtensions.getOrElse(List.of())));
+
+        // The include and exclude patterns are applied separately, as the includes of a pattern set are
+        // combined with the extension filter above by disjunction.
+        PatternSet filter = new PatternSet();
+        filter.include(extension.getIncludes().getOrElse(List.of()));
+        filter.exclude(extension.getExcludes().getOrElse(List.of()));
+
+        return project.fileTree(sourceDir).matching(patterns).matching(filter);
+    }
+
     private static boolean matchesExtension(String fileName, List<String> extensions) {
         String normalizedFileName = fileName.toLowerCase(Locale.ROOT);
 
@@ -5,6 +5,7 @@ package org.jfxcore.gradle;
 
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
 
 public abstract class CompilerPluginExtension {
 
@@ -19,4 +20,51 @@ public abstract class CompilerPluginExtension {
      * Specifies the file extensions used to select FXML source files for compilation.
      */
     public abstract ListProperty<String> getSourceFileExtensions();
+
+    /**
+     * Specifies the names of the source sets that are not processed by the plugin. The FXML tasks of a disabled
+     * source set are skipped, and its compilation tasks have no FXML inputs, outputs, arguments or actions.
+     */
+    public abstract SetProperty<String> getDisabledSourceSets();
+
+    /**
+     * Specifies Ant-style patterns, relative to the source directories, that select the FXML source files for
+     * compilation. If no patterns are specified, all FXML source files are selected.
+     */
+    public abstract ListProperty<String> getIncludes();
+
+    /**
+     * Specifies Ant-style patterns, relative to the source directories, that exclude FXML source files
+     * from compilation.
+     */
+    public abstract ListProperty<String> getExcludes();
+
+    /**
+     * Controls whether the outputs of FXML processing are stored in a machine-wide cache in the Gradle user home,
+     * which allows them to be reused across branches and worktrees.
+     */
+    public abstract Property<Boolean> getLocalOutputCache();
+
+    /**
+     * Specifies the maximum size of the local output cache in megabytes.
+     */
+    public abstract Property<Long> getLocalOutputCacheSize();
+
+    /**
+     * Specifies the number of threads that rewrite the bytecode of compiled classes after Java compilation.
+     * Each thread holds its own view of the search path, which increases memory usage accordingly.
+     */
+    public abstract Property<Integer> getCompilerThreads();
+
+    /**
+     * Controls whether a manifest of the classes that were compiled from FXML documents is packaged into
+     * the jar at {@code META-INF/jfxcore/fxml-preload.txt}.
+     */
+    public abstract Property<Boolean> getPreloadManifest();
+
+    /**
+     * Controls whether the {@code process{SourceSet}Fxml} and {@code compile{SourceSet}Java} tasks explain which
+     * FXML documents, classpath entries, descriptors and compiler arguments have caused them to be executed.
+     */
+    public abstract Property<Boolean> getExplainReruns();
 }
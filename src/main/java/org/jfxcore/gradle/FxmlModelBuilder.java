@@ -0,0 +1,150 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.api.Project;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.tooling.provider.model.ToolingModelBuilder;
+import org.jfxcore.gradle.tooling.FxmlModel;
+import org.jfxcore.gradle.tooling.FxmlSourceSetModel;
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the {@link FxmlModel} for Tooling API clients. The model is derived from the configured providers,
+ * none of which require a task to be executed.
+ */
+final class FxmlModelBuilder implements ToolingModelBuilder {
+
+    @Override
+    public boolean canBuild(String modelName) {
+        return modelName.equals(FxmlModel.class.getName());
+    }
+
+    @Override
+    public Object buildAll(String modelName, Project project) {
+        var extension = project.getExtensions().getByType(CompilerPluginExtension.class);
+        var sourceSets = project.getExtensions().findByType(SourceSetContainer.class);
+        var sourceSetModels = new ArrayList<FxmlSourceSetModel>();
+
+        Set<String> disabledSourceSets = Set.copyOf(extension.getDisabledSourceSets().getOrElse(Set.of()));
+
+        if (sourceSets != null) {
+            for (SourceSet sourceSet : sourceSets) {
+                if (!disabledSourceSets.contains(sourceSet.getName())) {
+                    sourceSetModels.add(buildSourceSetModel(project, sourceSet, extension));
+                }
+            }
+        }
+
+        return new DefaultFxmlModel(
+            extension.getAnnotationProcessing().getOrElse(false),
+            List.copyOf(extension.getSourceFileExtensions().getOrElse(List.of())),
+            List.copyOf(extension.getIncludes().getOrElse(List.of())),
+            List.copyOf(extension.getExcludes().getOrElse(List.of())),
+            disabledSourceSets,
+            sourceSetModels);
+    }
+
+    private static FxmlSourceSetModel buildSourceSetModel(
+            Project project, SourceSet sourceSet, CompilerPluginExtension extension) {
+        File generatedSourcesDir = PathHelper.getGeneratedSourcesDirectory(project, sourceSet).get().getAsFile();
+        List<File> sourceDirs = new ArrayList<>(sourceSet.getAllSource().getSrcDirs());
+        sourceDirs.remove(generatedSourcesDir);
+
+        List<File> fxmlFiles = sourceDirs.stream()
+            .flatMap(sourceDir -> CompilerPlugin.getFxmlFileTree(project, sourceDir, extension).getFiles().stream())
+            .sorted()
+            .toList();
+
+        List<File> intermediateBuildDirs = CompilerPlugin.INTERMEDIATE_BUILD_DIRS.stream()
+            .map(name -> CompilerPlugin.getIntermediateBuildDir(project, sourceSet, name).get().getAsFile())
+            .toList();
+
+        File classesDir = sourceSet.getJava().getDestinationDirectory().get().getAsFile();
+
+        return new DefaultFxmlSourceSetModel(
+            sourceSet.getName(), sourceDirs, fxmlFiles, generatedSourcesDir, intermediateBuildDirs, classesDir);
+    }
+
+    private record DefaultFxmlModel(
+            boolean annotationProcessing,
+            List<String> sourceFileExtensions,
+            List<String> includes,
+            List<String> excludes,
+            Set<String> disabledSourceSets,
+            List<FxmlSourceSetModel> sourceSets) implements FxmlModel, Serializable {
+        @Override
+        public boolean isAnnotationProcessing() {
+            return annotationProcessing;
+        }
+
+        @Override
+        public List<String> getSourceFileExtensions() {
+            return sourceFileExtensions;
+        }
+
+        @Override
+        public List<String> getIncludes() {
+            return includes;
+        }
+
+        @Override
+        public List<String> getExcludes() {
+            return excludes;
+        }
+
+        @Override
+        public Set<String> getDisabledSourceSets() {
+            return disabledSourceSets;
+        }
+
+        @Override
+        public List<FxmlSourceSetModel> getSourceSets() {
+            return sourceSets;
+        }
+    }
+
+    private record DefaultFxmlSourceSetModel(
+            String name,
+            List<File> sourceDirs,
+            List<File> fxmlFiles,
+            File generatedSourcesDir,
+            List<File> intermediateBuildDirs,
+            File classesDir) implements FxmlSourceSetModel, Serializable {
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<File> getSourceDirs() {
+            return sourceDirs;
+        }
+
+        @Override
+        public List<File> getFxmlFiles() {
+            return fxmlFiles;
+        }
+
+        @Override
+        public File getGeneratedSourcesDir() {
+            return generatedSourcesDir;
+        }
+
+        @Override
+        public List<File> getIntermediateBuildDirs() {
+            return intermediateBuildDirs;
+        }
+
+        @Override
+        public File getClassesDir() {
+            return classesDir;
+        }
+    }
+}
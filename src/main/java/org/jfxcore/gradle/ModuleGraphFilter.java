@@ -0,0 +1,171 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.api.Transformer;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileSystemLocation;
+import java.io.File;
+import java.io.IOException;
+import java.lang.module.Configuration;
+import java.lang.module.FindException;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReference;
+import java.lang.module.ResolutionException;
+import java.lang.module.ResolvedModule;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the entries of a compile classpath that are part of the module graph of a modular source set.
+ * <p>
+ * When a source set contains a {@code module-info.java} file, the Java compiler resolves the modules that are
+ * required by the module declaration, and the modules they require in turn. Modules on the classpath that are not
+ * part of the resolved module graph are not observable by the compiled code, so the FXML compiler doesn't need to
+ * scan them either. Classpath entries that are not modules, like resource directories, are always retained.
+ * <p>
+ * The filter does not prune the classpath if the source set is not modular, or if the module graph cannot be
+ * resolved, for example because a required module is missing from the classpath. Javac will report such errors.
+ * The filter maps the elements of the classpath, so the mapped provider keeps the build dependencies of the
+ * classpath. The module graph is resolved once for each set of classpath entries, and the selection is reused
+ * by all queries of the filtered search path that see the same entries.
+ */
+final class ModuleGraphFilter implements Transformer<List<File>, Set<FileSystemLocation>> {
+
+    private static final Pattern COMMENTS = Pattern.compile("//[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern REQUIRES = Pattern.compile(
+        "\\brequires\\s+(?:(?:transitive|static)\\s+)*([\\w.]+)\\s*;");
+
+    private final FileCollection sourceDirs;
+    private transient Set<File> cachedClasspath;
+    private transient List<File> cachedSelection;
+
+    ModuleGraphFilter(FileCollection sourceDirs) {
+        this.sourceDirs = sourceDirs;
+    }
+
+    /**
+     * Returns the entries of the classpath that are part of the module graph, in classpath order.
+     */
+    @Override
+    public synchronized List<File> transform(Set<FileSystemLocation> elements) {
+        Set<File> files = elements.stream()
+            .map(FileSystemLocation::getAsFile)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (!files.equals(cachedClasspath)) {
+            Set<File> selection = select(files, findRequiredModules());
+            cachedSelection = files.stream().filter(file -> selection == null || selection.contains(file)).toList();
+            cachedClasspath = files;
+        }
+
+        return cachedSelection;
+    }
+
+    private List<String> findRequiredModules() {
+        for (File sourceDir : sourceDirs.getFiles()) {
+            Path moduleInfo = sourceDir.toPath().resolve("module-info.java");
+
+            if (Files.isRegularFile(moduleInfo)) {
+                try {
+                    return parseRequiredModules(Files.readString(moduleInfo, StandardCharsets.UTF_8));
+                } catch (IOException ex) {
+                    return null;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the names of the modules required by a module declaration.
+     */
+    static List<String> parseRequiredModules(String moduleDeclaration) {
+        Matcher matcher = REQUIRES.matcher(COMMENTS.matcher(moduleDeclaration).replaceAll(" "));
+        List<String> result = new ArrayList<>();
+
+        while (matcher.find()) {
+            result.add(matcher.group(1));
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves the module graph of the required modules, and returns the classpath entries that are either
+     * part of the module graph or are not modules. Returns {@code null} if the classpath should not be pruned.
+     */
+    static Set<File> select(Set<File> classpath, List<String> requiredModules) {
+        if (requiredModules == null) {
+            return null;
+        }
+
+        Map<URI, File> modules = new HashMap<>();
+        Set<String> moduleNames = new HashSet<>();
+        Set<File> selection = new HashSet<>();
+        List<Path> modulePath = new ArrayList<>();
+
+        for (File file : classpath) {
+            ModuleReference module = findModule(file);
+
+            if (module == null) {
+                selection.add(file);
+            } else if (!moduleNames.add(module.descriptor().name())) {
+                // Javac would only observe the first of several modules with the same name, but the FXML
+                // compiler scans all classpath entries. Don't second-guess which one it should see.
+                return null;
+            } else {
+                module.location().ifPresent(location -> modules.put(location, file));
+                modulePath.add(file.toPath());
+            }
+        }
+
+        try {
+            Configuration configuration = Configuration.empty().resolve(
+                ModuleFinder.of(modulePath.toArray(Path[]::new)), ModuleFinder.ofSystem(), requiredModules);
+
+            for (ResolvedModule module : configuration.modules()) {
+                module.reference().location().map(modules::get).ifPresent(selection::add);
+            }
+        } catch (FindException | ResolutionException ex) {
+            return null;
+        }
+
+        return selection;
+    }
+
+    private static ModuleReference findModule(File file) {
+        Path path = file.toPath();
+
+        // A directory is only a module if it contains a module declaration, other
+        // directories are class or resource directories and are retained.
+        if (Files.isDirectory(path) && !Files.isRegularFile(path.resolve("module-info.class"))) {
+            return null;
+        }
+
+        if (!Files.isDirectory(path) && !file.getName().endsWith(".jar")) {
+            return null;
+        }
+
+        try {
+            Set<ModuleReference> references = ModuleFinder.of(path).findAll();
+            return references.size() == 1 ? references.iterator().next() : null;
+        } catch (FindException ex) {
+            return null;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Stream;
@@ -43,6 +44,33 @@ public final class PathHelper {
         }
     }
 
+    /**
+     * Deletes the contents of the specified directory, but not the directory itself.
+     *
+     * @return {@code true} if any file was deleted
+     */
+    public static boolean deleteContents(File dir) {
+        if (!dir.isDirectory()) {
+            return false;
+        }
+
+        try (Stream<Path> stream = Files.walk(dir.toPath())) {
+            List<Path> paths = stream
+                .filter(path -> !path.equals(dir.toPath()))
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+            for (Path path : paths) {
+                Files.delete(path);
+            }
+
+            return !paths.isEmpty();
+        } catch (IOException ex) {
+            throw new GradleException(
+                String.format("Failed to delete the contents of %s: %s", dir, ex.getMessage()));
+        }
+    }
+
     public static String getFileNameWithoutExtension(Path file) {
         String name = file.getName(file.getNameCount() - 1).toString();
         int lastIdx = name.lastIndexOf('.');
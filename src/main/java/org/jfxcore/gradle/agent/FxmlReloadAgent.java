@@ -0,0 +1,179 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.agent;
+
+import java.io.IOException;
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Development-time Java agent that applies the FXML classes recompiled by the {@code reload{SourceSet}Fxml} task
+ * to a running application.
+ * <p>
+ * The agent is contained in the plugin jar and is started with {@code -javaagent:<plugin jar>=<reload directory>}.
+ * It watches the reload directory for reload requests, and redefines the listed classes in place. Class
+ * redefinition cannot change the shape of a class, i.e. its fields, methods or supertypes. If the application
+ * specifies a handler class with the {@value #RELOAD_HANDLER_PROPERTY} system property, the names of classes that
+ * could not be redefined are passed to the handler, which can then reload the affected scenes. The handler class
+ * must implement {@code Consumer<Set<String>>} and have a public no-argument constructor.
+ * <p>
+ * This class must only depend on the JDK, as it is loaded by the application class loader of the target JVM.
+ */
+public final class FxmlReloadAgent {
+
+    public static final String REQUEST_FILE = "reload-request.txt";
+    public static final String RELOAD_HANDLER_PROPERTY = "org.jfxcore.fxml.reloadHandler";
+
+    private static final long POLL_INTERVAL_MILLIS = 250;
+    private static final System.Logger LOGGER = System.getLogger(FxmlReloadAgent.class.getName());
+
+    private final Instrumentation instrumentation;
+    private final Path requestFile;
+    private final Path claimedRequestFile;
+
+    private FxmlReloadAgent(Instrumentation instrumentation, Path reloadDir) {
+        this.instrumentation = instrumentation;
+        this.requestFile = reloadDir.resolve(REQUEST_FILE);
+        this.claimedRequestFile = reloadDir.resolve(REQUEST_FILE + "." + ProcessHandle.current().pid());
+    }
+
+    public static void premain(String arguments, Instrumentation instrumentation) {
+        agentmain(arguments, instrumentation);
+    }
+
+    public static void agentmain(String arguments, Instrumentation instrumentation) {
+        if (arguments == null || arguments.isBlank()) {
+            System.err.println("FXML reload agent: no reload directory specified, the agent is disabled.");
+            return;
+        }
+
+        if (!instrumentation.isRedefineClassesSupported()) {
+            System.err.println("FXML reload agent: the JVM does not support class redefinition.");
+            return;
+        }
+
+        var agent = new FxmlReloadAgent(instrumentation, Path.of(arguments));
+        Thread thread = new Thread(agent::run, "FXML reload agent");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Map<String, Path> request = readRequest();
+                if (request != null) {
+                    reload(request);
+                }
+
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException ex) {
+                return;
+            } catch (Throwable ex) {
+                System.err.println("FXML reload agent: " + ex);
+            }
+        }
+    }
+
+    /**
+     * Reads and consumes the pending reload request. Each line of the request contains the binary name of a
+     * class and the path of its class file, separated by a tab character.
+     * <p>
+     * The request is claimed by moving it to a name that is private to this process before it is read, so that
+     * a request that is written by the reload task while this agent reads the previous one is not lost.
+     */
+    private Map<String, Path> readRequest() throws IOException {
+        List<String> lines;
+
+        try {
+            Files.move(requestFile, claimedRequestFile,
+                       StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+
+        try {
+            lines = Files.readAllLines(claimedRequestFile, StandardCharsets.UTF_8);
+        } finally {
+            Files.delete(claimedRequestFile);
+        }
+
+        Map<String, Path> classes = new LinkedHashMap<>();
+
+        for (String line : lines) {
+            int separator = line.indexOf('\t');
+            if (separator > 0) {
+                classes.put(line.substring(0, separator), Path.of(line.substring(separator + 1)));
+            }
+        }
+
+        return classes;
+    }
+
+    private void reload(Map<String, Path> request) throws IOException {
+        Map<String, List<Class<?>>> loadedClasses = new LinkedHashMap<>();
+
+        for (Class<?> loadedClass : instrumentation.getAllLoadedClasses()) {
+            if (request.containsKey(loadedClass.getName())) {
+                loadedClasses.computeIfAbsent(loadedClass.getName(), key -> new ArrayList<>()).add(loadedClass);
+            }
+        }
+
+        Set<String> failedClasses = new TreeSet<>();
+        int redefinedClasses = 0;
+
+        // Classes that are not loaded yet will be loaded from the updated class files when they are first used.
+        for (Map.Entry<String, List<Class<?>>> entry : loadedClasses.entrySet()) {
+            byte[] bytecode = Files.readAllBytes(request.get(entry.getKey()));
+
+            for (Class<?> loadedClass : entry.getValue()) {
+                try {
+                    instrumentation.redefineClasses(new ClassDefinition(loadedClass, bytecode));
+                    ++redefinedClasses;
+                } catch (UnsupportedOperationException | LinkageError
+                         | ClassNotFoundException | UnmodifiableClassException ex) {
+                    failedClasses.add(entry.getKey());
+                }
+            }
+        }
+
+        LOGGER.log(System.Logger.Level.DEBUG, "FXML reload agent: redefined {0} classes", redefinedClasses);
+
+        if (!failedClasses.isEmpty()) {
+            notifyHandler(failedClasses);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void notifyHandler(Set<String> failedClasses) {
+        String handlerClassName = System.getProperty(RELOAD_HANDLER_PROPERTY);
+
+        if (handlerClassName == null) {
+            System.err.println("FXML reload agent: the shape of the following classes has changed, "
+                + "restart the application to apply the changes: " + String.join(", ", failedClasses));
+            return;
+        }
+
+        try {
+            Class<?> handlerClass = Class.forName(handlerClassName, true, ClassLoader.getSystemClassLoader());
+            var handler = (Consumer<Set<String>>)handlerClass.getConstructor().newInstance();
+            handler.accept(failedClasses);
+        } catch (ReflectiveOperationException | ClassCastException ex) {
+            System.err.println("FXML reload agent: failed to invoke reload handler " + handlerClassName + ": " + ex);
+        }
+    }
+}
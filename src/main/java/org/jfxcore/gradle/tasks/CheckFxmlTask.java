@@ -0,0 +1,113 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.ServiceReference;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.jfxcore.compiler.runner.ClassGeneratorRunner;
+import org.jfxcore.compiler.runner.CompilationUnitWrapper;
+import org.jfxcore.compiler.runner.RunnerException;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Parses and validates all FXML documents of a source set against its compile classpath, without generating
+ * Java stubs or descriptors, and without compiling Java sources. The task runs the class generator, so it reports
+ * the errors that {@link ProcessFxmlTask} would report. Errors that are only detected when the bytecode of the
+ * compiled classes is rewritten, for example in bindings to members of the source set, are not reported.
+ * <p>
+ * The task only writes a report that lists the checked documents, which allows Gradle to skip or restore it from
+ * the build cache when neither the documents nor the compile classpath have changed.
+ */
+@CacheableTask
+public abstract class CheckFxmlTask extends DefaultTask {
+
+    public static final String VERB = "check";
+    public static final String TARGET = "fxml";
+
+    @Classpath
+    public abstract Property<FileCollection> getSearchPath();
+
+    @Nested
+    public abstract ListProperty<FxmlSourceInfo> getFxmlSourceInfo();
+
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    /**
+     * The build service that limits the memory used by concurrent FXML compilations.
+     */
+    @ServiceReference
+    public abstract Property<CompilationGovernor> getCompilationGovernor();
+
+    @TaskAction
+    public void check() throws InterruptedException {
+        Set<Path> searchPath = getSearchPath().get().getFiles().stream().map(File::toPath).collect(Collectors.toSet());
+        Path reportFile = getReportFile().get().getAsFile().toPath();
+
+        Map<Path, List<Path>> files = getFxmlSourceInfo().get().stream()
+            .collect(Collectors.toUnmodifiableMap(
+                x -> x.getSourceDir().get().getAsFile().toPath(),
+                x -> x.getFxmlFiles().get().getFiles().stream().map(File::toPath).toList()));
+
+        List<String> checkedFiles = new ArrayList<>();
+
+        for (Map.Entry<Path, List<Path>> entry : files.entrySet()) {
+            for (Path file : entry.getValue()) {
+                checkedFiles.add(entry.getKey().relativize(file).toString().replace(File.separatorChar, '/'));
+            }
+        }
+
+        checkedFiles.sort(String::compareTo);
+
+        try {
+            Files.deleteIfExists(reportFile);
+
+            if (!checkedFiles.isEmpty()) {
+                var logger = new GradleLoggerAdapter(getLogger());
+                long estimate = CompilationGovernor.estimate(searchPath, ProcessFxmlTask.documentBytes(files), 1);
+
+                try (var reservation = getCompilationGovernor().get().reserve(estimate, getLogger());
+                     var generator = new ClassGeneratorRunner(searchPath, logger)) {
+                    generator.addFileSources(files);
+
+                    // The compilation units are discarded: processing them is what parses
+                    // and validates the documents, and any error is reported by the runner.
+                    int count = 0;
+                    for (CompilationUnitWrapper ignored : generator.process()) {
+                        ++count;
+                    }
+
+                    logger.summarize("Checked", count, "FXML document", "FXML documents");
+                }
+            }
+
+            Files.createDirectories(reportFile.getParent());
+            Files.write(reportFile, checkedFiles);
+        } catch (RunnerException ex) {
+            throw new GradleException(ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (Throwable ex) {
+            throw new GradleException("Internal compiler error", ex);
+        }
+    }
+}
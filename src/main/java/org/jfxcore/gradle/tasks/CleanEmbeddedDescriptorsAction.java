@@ -0,0 +1,64 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.Task;
+import org.gradle.api.file.Directory;
+import org.gradle.api.provider.Provider;
+import org.jfxcore.gradle.PathHelper;
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Removes descriptors of embedded FXML documents whose owning source file no longer produces them.
+ * <p>
+ * The markup annotation processor and the symbol processor emit two outputs for every {@code ComponentView} class:
+ * a Java stub that is created with the annotated class as its originating element, and a descriptor that is written
+ * directly to the intermediate build directory. Gradle and KSP track only the stub, which they delete together with
+ * the originating source file, or when they perform a full rebuild. The descriptor is owned by the source file that
+ * owns its stub, so a descriptor without a stub at the same relative location belongs to a source file that was
+ * deleted or no longer carries the annotation, and would otherwise be picked up by the compileFxml task.
+ */
+public abstract class CleanEmbeddedDescriptorsAction implements Action<Task> {
+
+    private final Provider<Directory> intermediateBuildDir;
+    private final Provider<Directory> generatedSourcesDir;
+
+    @Inject
+    public CleanEmbeddedDescriptorsAction(
+            Provider<Directory> intermediateBuildDir,
+            Provider<Directory> generatedSourcesDir) {
+        this.intermediateBuildDir = intermediateBuildDir;
+        this.generatedSourcesDir = generatedSourcesDir;
+    }
+
+    @Override
+    public void execute(Task task) {
+        File descriptorDir = intermediateBuildDir.get().getAsFile();
+        Path stubDir = generatedSourcesDir.get().getAsFile().toPath();
+
+        for (Path descriptorFile : PathHelper.getDescriptorFiles(descriptorDir)) {
+            Path relDescPath = descriptorDir.toPath().relativize(descriptorFile);
+            String fileName = PathHelper.getFileNameWithoutExtension(relDescPath);
+            Path stubFile = stubDir.resolve(relDescPath.resolveSibling(fileName + ".java"));
+
+            if (Files.exists(stubFile)) {
+                continue;
+            }
+
+            try {
+                Files.delete(descriptorFile);
+                task.getLogger().info("Removed orphaned FXML descriptor {}", descriptorFile);
+            } catch (IOException ex) {
+                throw new GradleException(
+                    String.format("Failed to delete %s: %s", descriptorFile, ex.getMessage()));
+            }
+        }
+    }
+}
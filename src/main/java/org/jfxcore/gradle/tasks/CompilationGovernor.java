@@ -0,0 +1,115 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Build service that limits the memory used by FXML compilations that run concurrently in parallel builds.
+ * <p>
+ * Each compilation holds a compiler runner that loads type information from the search path of its source set.
+ * Before creating runners, a compilation reserves its estimated heap usage from the budget of this service, and
+ * waits if the budget is exhausted. In addition, Gradle does not run more tasks that use this service at the same
+ * time than its {@code maxParallelUsages} setting allows.
+ */
+public abstract class CompilationGovernor implements BuildService<CompilationGovernor.Params> {
+
+    public static final String NAME = "fxmlCompilationGovernor";
+
+    /**
+     * The Gradle property that specifies the maximum number of tasks that compile FXML at the same time.
+     */
+    public static final String MAX_PARALLEL_COMPILATIONS_PROPERTY = "org.jfxcore.fxml.maxParallelCompilations";
+
+    /**
+     * The Gradle property that specifies the heap budget of FXML compilations in megabytes.
+     */
+    public static final String HEAP_BUDGET_PROPERTY = "org.jfxcore.fxml.heapBudget";
+
+    // The estimate is a coarse heuristic: a runner has a fixed overhead, the type information read from the search
+    // path is proportional to its compressed size, and the object model of a document is much larger than its text.
+    private static final long RUNNER_OVERHEAD_BYTES = 16L * 1024 * 1024;
+    private static final long SEARCH_PATH_FACTOR = 2;
+    private static final long DOCUMENT_FACTOR = 64;
+
+    public interface Params extends BuildServiceParameters {
+        /**
+         * The heap budget in bytes. If no value is specified, half of the maximum heap size of the daemon is used.
+         */
+        Property<Long> getHeapBudget();
+    }
+
+    private final HeapBudget heapBudget;
+
+    public CompilationGovernor() {
+        heapBudget = new HeapBudget(getParameters().getHeapBudget().getOrElse(Runtime.getRuntime().maxMemory() / 2));
+    }
+
+    /**
+     * Estimates the heap usage of the specified number of compiler runners that share the same search path.
+     *
+     * @param documentBytes the total size of the FXML documents or descriptors that are compiled
+     */
+    static long estimate(Collection<Path> searchPath, long documentBytes, int runners) {
+        long searchPathBytes = searchPath.stream().mapToLong(CompilationGovernor::sizeOf).sum();
+        long runnerBytes = RUNNER_OVERHEAD_BYTES + searchPathBytes * SEARCH_PATH_FACTOR;
+        return runnerBytes * Math.max(1, runners) + documentBytes * DOCUMENT_FACTOR;
+    }
+
+    /**
+     * Reserves the estimated heap usage of a compilation, waiting until the budget allows it to run.
+     */
+    HeapBudget.Reservation reserve(long bytes, Logger logger) throws InterruptedException {
+        if (heapBudget.mustWait(bytes)) {
+            logger.info(String.format(
+                Locale.ROOT, "Waiting for %,d MB of the FXML compiler heap budget (%,d of %,d MB in use)",
+                toMegabytes(bytes), toMegabytes(heapBudget.getReservedBytes()),
+                toMegabytes(heapBudget.getBudgetBytes())));
+        }
+
+        return heapBudget.reserve(bytes);
+    }
+
+    private static long toMegabytes(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    /**
+     * Returns the size of a search path entry. The size is only used for an estimate, so files that can't be
+     * read, for example because they are replaced by another task of a parallel build, count as empty.
+     */
+    private static long sizeOf(Path path) {
+        if (Files.isRegularFile(path)) {
+            return sizeOfFile(path);
+        }
+
+        if (!Files.isDirectory(path)) {
+            return 0;
+        }
+
+        try (Stream<Path> stream = Files.walk(path)) {
+            return stream.filter(Files::isRegularFile).mapToLong(CompilationGovernor::sizeOfFile).sum();
+        } catch (IOException | UncheckedIOException ex) {
+            return 0;
+        }
+    }
+
+    private static long sizeOfFile(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Orders compilation work by its estimated cost, so that threads that take batches from a shared queue finish at
+ * roughly the same time.
+ * <p>
+ * Documents are scheduled longest-first: a single expensive document that is started last would otherwise
+ * determine the duration of the entire compilation, while the other threads are idle. Documents that are cheaper
+ * than the minimum batch cost are combined into batches, which amortizes the fixed cost of a compiler invocation.
+ */
+final class CompilationScheduler {
+
+    private CompilationScheduler() {}
+
+    /**
+     * Groups the items into batches, and returns the batches in descending order of their total cost.
+     * Items of equal cost retain their relative order, which makes the schedule deterministic.
+     */
+    static <T> List<List<T>> schedule(List<T> items, ToLongFunction<T> cost, long minBatchCost) {
+        List<T> sortedItems = new ArrayList<>(items);
+        sortedItems.sort(Comparator.comparingLong(cost).reversed());
+
+        List<Batch<T>> batches = new ArrayList<>();
+        List<T> smallItems = new ArrayList<>();
+        long smallItemsCost = 0;
+
+        for (T item : sortedItems) {
+            long itemCost = cost.applyAsLong(item);
+
+            if (itemCost >= minBatchCost) {
+                batches.add(new Batch<>(List.of(item), itemCost));
+                continue;
+            }
+
+            smallItems.add(item);
+            smallItemsCost += itemCost;
+
+            if (smallItemsCost >= minBatchCost) {
+                batches.add(new Batch<>(smallItems, smallItemsCost));
+                smallItems = new ArrayList<>();
+                smallItemsCost = 0;
+            }
+        }
+
+        if (!smallItems.isEmpty()) {
+            batches.add(new Batch<>(smallItems, smallItemsCost));
+        }
+
+        batches.sort(Comparator.comparingLong(Batch<T>::cost).reversed());
+        return batches.stream().map(Batch::items).toList();
+    }
+
+    private record Batch<T>(List<T> items, long cost) {}
+}
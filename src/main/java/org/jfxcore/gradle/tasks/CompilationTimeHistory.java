@@ -0,0 +1,89 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Records how long the FXML compiler took to rewrite the bytecode of each class, which is used to estimate the
+ * cost of rewriting it again. Measurements are smoothed over consecutive builds, as individual measurements are
+ * affected by JIT compilation and by other work running in the same daemon.
+ */
+final class CompilationTimeHistory {
+
+    private static final String HEADER = "# fxml-compilation-times v1";
+
+    private final Path historyFile;
+    private final Map<String, Long> nanos;
+
+    private CompilationTimeHistory(Path historyFile, Map<String, Long> nanos) {
+        this.historyFile = historyFile;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Loads the history from the specified file. A missing or unreadable history is treated as empty.
+     */
+    static CompilationTimeHistory load(Path historyFile) {
+        Map<String, Long> nanos = new TreeMap<>();
+
+        try {
+            List<String> lines = Files.readAllLines(historyFile, StandardCharsets.UTF_8);
+
+            if (!lines.isEmpty() && lines.get(0).equals(HEADER)) {
+                for (String line : lines.subList(1, lines.size())) {
+                    String[] parts = line.split("\t");
+                    if (parts.length == 2) {
+                        nanos.put(parts[0], Long.parseLong(parts[1]));
+                    }
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            nanos.clear();
+        }
+
+        return new CompilationTimeHistory(historyFile, nanos);
+    }
+
+    /**
+     * Returns the recorded compilation time of the specified class in nanoseconds, or -1 if no time was recorded.
+     */
+    long get(String key) {
+        return nanos.getOrDefault(key, -1L);
+    }
+
+    synchronized void record(String key, long elapsedNanos) {
+        nanos.merge(key, elapsedNanos, (previous, current) -> (previous + current) / 2);
+    }
+
+    /**
+     * Removes all entries that are not contained in the specified set of keys.
+     */
+    void retainAll(Set<String> keys) {
+        nanos.keySet().retainAll(keys);
+    }
+
+    void save() throws IOException {
+        Files.createDirectories(historyFile.getParent());
+        Path tempFile = historyFile.resolveSibling(historyFile.getFileName() + ".tmp");
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+
+        for (Map.Entry<String, Long> entry : nanos.entrySet()) {
+            lines.add(entry.getKey() + "\t" + entry.getValue());
+        }
+
+        Files.write(tempFile, lines, StandardCharsets.UTF_8);
+        Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
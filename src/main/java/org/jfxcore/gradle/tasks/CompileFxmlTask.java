@@ -0,0 +1,497 @@
+// Copyright (c) 2025, 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.ServiceReference;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.jfxcore.compiler.runner.CompilationUnitDescriptorWrapper;
+import org.jfxcore.compiler.runner.MarkupCompilerRunner;
+import org.jfxcore.compiler.runner.RunnerException;
+import org.jfxcore.gradle.PathHelper;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Rewrites the bytecode of the classes that were compiled from the Java stubs of FXML documents.
+ * <p>
+ * The Java compiler writes the classes of a source set to an intermediate directory. This task copies them to the
+ * classes directory of the source set, and rewrites the classes that have a descriptor. The copies don't share their
+ * contents with the output of the Java compiler, so tools that modify the classes directory, like bytecode
+ * instrumentation, don't change the inputs of this task or the incremental state of the Java compiler. The Java
+ * compiler doesn't depend on the descriptors, so an edit of FXML markup that keeps the generated Java stub unchanged
+ * doesn't cause Java compilation. Instead, this task runs incrementally, and only rewrites the classes of changed
+ * descriptors and the classes that were recompiled by the Java compiler. Since the task has its own output directory,
+ * the rewritten classes can be restored from the build cache independently of the output of the Java compiler.
+ */
+@CacheableTask
+public abstract class CompileFxmlTask extends DefaultTask {
+
+    public static final String VERB = "compile";
+    public static final String TARGET = "fxml";
+
+    private static final int BATCHES_PER_THREAD = 8;
+    private static final String CLASS_EXTENSION = ".class";
+
+    /**
+     * The output directory of the Java compiler, which contains the classes of the source set before
+     * their bytecode is rewritten.
+     */
+    @Incremental
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getJavaClassesDirs();
+
+    @Incremental
+    @IgnoreEmptyDirectories
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getIntermediateBuildDirs();
+
+    /**
+     * The search path of the FXML compiler. The classes directory of the source set is added to the search path
+     * when the task runs, as it contains the classes that are rewritten.
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getSearchPath();
+
+    @Internal
+    public abstract RegularFileProperty getTimeHistoryFile();
+
+    @Internal
+    public abstract Property<Integer> getCompilerThreads();
+
+    /**
+     * The build service that limits the memory used by concurrent FXML compilations.
+     */
+    @ServiceReference
+    public abstract Property<CompilationGovernor> getCompilationGovernor();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getClassesDir();
+
+    @TaskAction
+    public void compile(InputChanges inputChanges) throws InterruptedException {
+        Path classesPath = getClassesDir().get().getAsFile().toPath();
+        List<Path> javaClassesDirs = getJavaClassesDirs().getFiles().stream().map(File::toPath).toList();
+        Set<String> changedClasses = new HashSet<>();
+        Map<String, Path> descriptorClasses = new HashMap<>();
+
+        try {
+            for (File intermediateBuildDir : getIntermediateBuildDirs().getFiles()) {
+                for (Path descriptorFile : PathHelper.getDescriptorFiles(intermediateBuildDir)) {
+                    String relDescPath = toPortablePath(intermediateBuildDir.toPath().relativize(descriptorFile));
+                    descriptorClasses.put(getClassFile(relDescPath), descriptorFile);
+                }
+            }
+
+            if (inputChanges.isIncremental()) {
+                for (FileChange change : inputChanges.getFileChanges(getJavaClassesDirs())) {
+                    if (change.getFileType() != FileType.DIRECTORY) {
+                        String classFile = change.getNormalizedPath();
+                        copyClass(javaClassesDirs, classFile, classesPath);
+
+                        if (change.getChangeType() != ChangeType.REMOVED) {
+                            changedClasses.add(classFile);
+                        }
+                    }
+                }
+
+                // A class that was already rewritten for an older descriptor is replaced by its unprocessed version,
+                // as the FXML compiler can only rewrite classes that were not compiled before.
+                for (FileChange change : inputChanges.getFileChanges(getIntermediateBuildDirs())) {
+                    if (change.getFileType() != FileType.DIRECTORY && isDescriptor(change.getNormalizedPath())) {
+                        String classFile = getClassFile(change.getNormalizedPath());
+                        copyClass(javaClassesDirs, classFile, classesPath);
+                        changedClasses.add(classFile);
+                    }
+                }
+            } else {
+                PathHelper.deleteContents(classesPath.toFile());
+
+                for (Path javaClassesDir : javaClassesDirs) {
+                    changedClasses.addAll(copyTree(javaClassesDir, classesPath));
+                }
+            }
+
+            List<DescriptorFile> pendingFiles = new ArrayList<>();
+
+            for (Map.Entry<String, Path> entry : descriptorClasses.entrySet()) {
+                String classFile = entry.getKey();
+                Path outputFile = classesPath.resolve(classFile);
+
+                if (changedClasses.contains(classFile) && Files.isRegularFile(outputFile)) {
+                    pendingFiles.add(new DescriptorFile(entry.getValue(), outputFile, classFile));
+                }
+            }
+
+            if (pendingFiles.isEmpty()) {
+                return;
+            }
+
+            compile(classesPath, pendingFiles, descriptorClasses.keySet());
+        } catch (RunnerException ex) {
+            throw new GradleException(ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (Throwable ex) {
+            throw new GradleException("Internal compiler error", ex);
+        }
+    }
+
+    private void compile(
+            Path classesPath, List<DescriptorFile> pendingFiles, Set<String> descriptorClasses) throws Throwable {
+        // The classes directory precedes the other entries, so that the FXML compiler finds and rewrites
+        // the classes in the output directory of this task, or in the staging directories of parallel batches.
+        Set<Path> searchPath = new LinkedHashSet<>();
+        searchPath.add(classesPath);
+        getSearchPath().getFiles().stream().map(File::toPath).forEach(searchPath::add);
+
+        int threads = Math.max(1, Math.min(getCompilerThreads().getOrElse(1), pendingFiles.size()));
+        var logger = new GradleLoggerAdapter(getLogger());
+        long descriptorBytes = 0;
+
+        for (DescriptorFile file : pendingFiles) {
+            descriptorBytes += Files.size(file.descriptorFile());
+        }
+
+        // Each thread holds its own compiler runner, so the heap usage grows with the number of threads.
+        long estimate = CompilationGovernor.estimate(searchPath, descriptorBytes, threads);
+
+        int compiledCount;
+
+        try (var reservation = getCompilationGovernor().get().reserve(estimate, getLogger())) {
+            if (threads == 1) {
+                compiledCount = compile(searchPath, pendingFiles, logger);
+            } else {
+                var history = CompilationTimeHistory.load(getTimeHistoryFile().get().getAsFile().toPath());
+                Path stagingPath = getTemporaryDir().toPath().resolve("batches");
+                compiledCount = compileInParallel(
+                    classesPath, searchPath, stagingPath, pendingFiles, threads, history, logger);
+                history.retainAll(descriptorClasses);
+                history.save();
+            }
+        }
+
+        logger.summarize("Compiled", compiledCount, "FXML class", "FXML classes");
+    }
+
+    /**
+     * Compiles the descriptors on a fixed number of threads. The bytecode of each class is rewritten independently
+     * of other classes, and the type information of all runners is read from the same search path, so the resulting
+     * class files are identical to those of a single runner.
+     * <p>
+     * Each batch is compiled by a new compiler runner. A runner caches the type information it has read from the
+     * search path, including the classes it has rewritten, and the compiler does not guarantee that a runner can be
+     * reused after a compilation. A thread only holds one runner at a time, so the heap usage still grows with the
+     * number of threads, not with the number of batches.
+     * <p>
+     * Runners do not rewrite the classes in the classes directory, since other runners read the classes of the
+     * documents they refer to from there at the same time. Instead, each batch copies its classes to a staging
+     * directory that precedes the classes directory on its search path, so that its runner finds and rewrites the
+     * staged copies. The classes directory remains unchanged until all batches have finished, which means that all
+     * runners see the same classes regardless of thread timing. The rewritten classes are then moved to the classes
+     * directory.
+     * <p>
+     * The descriptors are grouped into batches by {@link CompilationScheduler}, using the compilation times of
+     * previous builds to estimate their cost. Threads take batches from a shared queue in descending order of cost,
+     * so that expensive documents are started first and no thread remains idle while another one still has a
+     * backlog of work. A thread stops taking batches after a batch has failed. The failure of the first failed batch
+     * in queue order is reported, which makes the outcome independent of thread scheduling.
+     *
+     * @return the number of classes that were compiled
+     */
+    private static int compileInParallel(
+            Path classesPath, Set<Path> searchPath, Path stagingPath, List<DescriptorFile> descriptorFiles,
+            int threads, CompilationTimeHistory history, GradleLoggerAdapter logger) throws Throwable {
+        List<DescriptorFile> sortedFiles = new ArrayList<>(descriptorFiles);
+        sortedFiles.sort((a, b) -> a.descriptorFile().compareTo(b.descriptorFile()));
+
+        Map<DescriptorFile, Long> estimates = estimateCosts(sortedFiles, history);
+        long totalCost = estimates.values().stream().mapToLong(Long::longValue).sum();
+        long minBatchCost = Math.max(1, totalCost / (threads * BATCHES_PER_THREAD));
+        List<List<DescriptorFile>> batches = CompilationScheduler.schedule(sortedFiles, estimates::get, minBatchCost);
+        Throwable[] failures = new Throwable[batches.size()];
+        AtomicInteger nextBatch = new AtomicInteger();
+        AtomicInteger compiledCount = new AtomicInteger();
+        PathHelper.deleteContents(stagingPath.toFile());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Throwable runnerFailure = null;
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    int index;
+
+                    while ((index = nextBatch.getAndIncrement()) < batches.size()) {
+                        List<DescriptorFile> batch = batches.get(index);
+                        Path stagingDir = stagingPath.resolve(Integer.toString(index));
+                        long startTime = System.nanoTime();
+
+                        try {
+                            compiledCount.addAndGet(compileStaged(searchPath, stagingDir, batch, logger));
+                        } catch (Throwable ex) {
+                            failures[index] = ex;
+                            break;
+                        }
+
+                        recordTimes(history, batch, estimates, System.nanoTime() - startTime);
+                    }
+
+                    return null;
+                }));
+            }
+
+            // Wait for all threads, even if one of them has failed. Returning early would leave the compiler
+            // runners of the remaining threads open after the task action has completed.
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    if (runnerFailure == null) {
+                        runnerFailure = ex.getCause();
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (Throwable failure : failures) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        if (runnerFailure != null) {
+            throw runnerFailure;
+        }
+
+        moveTree(stagingPath, classesPath);
+        return compiledCount.get();
+    }
+
+    /**
+     * Copies the classes of a batch, including their nested classes, to the staging directory of the batch,
+     * and compiles the staged copies.
+     */
+    private static int compileStaged(
+            Set<Path> searchPath, Path stagingDir, List<DescriptorFile> batch,
+            GradleLoggerAdapter logger) throws Exception {
+        List<DescriptorFile> stagedFiles = new ArrayList<>();
+
+        for (DescriptorFile file : batch) {
+            Path stagedClassFile = stagingDir.resolve(file.historyKey());
+            Path classDir = file.classFile().getParent();
+            String nestedClasses = PathHelper.getFileNameWithoutExtension(file.classFile()) + "$*" + CLASS_EXTENSION;
+            Files.createDirectories(stagedClassFile.getParent());
+            Files.copy(file.classFile(), stagedClassFile);
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(classDir, nestedClasses)) {
+                for (Path nestedClass : stream) {
+                    Files.copy(nestedClass, stagedClassFile.resolveSibling(nestedClass.getFileName()));
+                }
+            }
+
+            stagedFiles.add(new DescriptorFile(file.descriptorFile(), stagedClassFile, file.historyKey()));
+        }
+
+        Set<Path> stagedSearchPath = new LinkedHashSet<>();
+        stagedSearchPath.add(stagingDir);
+        stagedSearchPath.addAll(searchPath);
+        return compile(stagedSearchPath, stagedFiles, logger);
+    }
+
+    /**
+     * Estimates the cost of each descriptor from its recorded compilation time. Descriptors without a recorded
+     * time are estimated from their size, scaled by the average time per byte of the other descriptors.
+     */
+    private static Map<DescriptorFile, Long> estimateCosts(
+            List<DescriptorFile> descriptorFiles, CompilationTimeHistory history) throws IOException {
+        Map<DescriptorFile, Long> sizes = new HashMap<>();
+        long knownNanos = 0, knownBytes = 0;
+
+        for (DescriptorFile file : descriptorFiles) {
+            long size = Math.max(1, Files.size(file.descriptorFile()));
+            long nanos = history.get(file.historyKey());
+            sizes.put(file, size);
+
+            if (nanos >= 0) {
+                knownNanos += nanos;
+                knownBytes += size;
+            }
+        }
+
+        double nanosPerByte = knownBytes > 0 ? (double)knownNanos / knownBytes : 1;
+        Map<DescriptorFile, Long> estimates = new HashMap<>();
+
+        for (DescriptorFile file : descriptorFiles) {
+            long nanos = history.get(file.historyKey());
+            estimates.put(file, Math.max(1, nanos >= 0 ? nanos : (long)(sizes.get(file) * nanosPerByte)));
+        }
+
+        return estimates;
+    }
+
+    /**
+     * Records the compilation time of a batch, distributing it across its descriptors in proportion to
+     * their estimated costs.
+     */
+    private static void recordTimes(
+            CompilationTimeHistory history, List<DescriptorFile> batch,
+            Map<DescriptorFile, Long> estimates, long elapsedNanos) {
+        long batchCost = batch.stream().mapToLong(estimates::get).sum();
+
+        for (DescriptorFile file : batch) {
+            history.record(file.historyKey(), (long)((double)elapsedNanos * estimates.get(file) / batchCost));
+        }
+    }
+
+    private static int compile(
+            Set<Path> searchPath, List<DescriptorFile> descriptorFiles, GradleLoggerAdapter logger) throws Exception {
+        try (var compiler = new MarkupCompilerRunner(searchPath, logger)) {
+            return compile(compiler, descriptorFiles);
+        }
+    }
+
+    /**
+     * Compiles the descriptors whose classes were not already rewritten by the FXML compiler.
+     *
+     * @return the number of classes that were compiled
+     */
+    private static int compile(MarkupCompilerRunner compiler, List<DescriptorFile> descriptorFiles) throws Exception {
+        Set<CompilationUnitDescriptorWrapper> compilationUnits = new HashSet<>();
+
+        for (DescriptorFile descriptorFile : descriptorFiles) {
+            Path classFile = descriptorFile.classFile();
+
+            if (!Files.exists(classFile) || !compiler.isCompiledFile(classFile)) {
+                compilationUnits.add(compiler.loadDescriptor(descriptorFile.descriptorFile()));
+            }
+        }
+
+        compiler.compile(compilationUnits);
+        return compilationUnits.size();
+    }
+
+    /**
+     * Copies a class from the output directory of the Java compiler to the classes directory,
+     * or deletes it from the classes directory if the Java compiler has removed it.
+     */
+    private static void copyClass(List<Path> javaClassesDirs, String classFile, Path classesPath) throws IOException {
+        Path target = classesPath.resolve(classFile);
+
+        for (Path javaClassesDir : javaClassesDirs) {
+            Path source = javaClassesDir.resolve(classFile);
+
+            if (Files.isRegularFile(source)) {
+                Files.createDirectories(target.getParent());
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            }
+        }
+
+        Files.deleteIfExists(target);
+    }
+
+    private static List<String> copyTree(Path source, Path target) throws IOException {
+        List<String> files = new ArrayList<>();
+        if (!Files.isDirectory(source)) {
+            return files;
+        }
+
+        try (Stream<Path> stream = Files.walk(source)) {
+            for (Path file : stream.filter(Files::isRegularFile).toList()) {
+                String relativePath = toPortablePath(source.relativize(file));
+                Path targetFile = target.resolve(relativePath);
+                Files.createDirectories(targetFile.getParent());
+                Files.copy(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
+                files.add(relativePath);
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Moves the rewritten classes of all batches from the staging directories to the classes directory.
+     */
+    private static void moveTree(Path stagingPath, Path classesPath) throws IOException {
+        if (!Files.isDirectory(stagingPath)) {
+            return;
+        }
+
+        try (Stream<Path> batchDirs = Files.list(stagingPath)) {
+            for (Path batchDir : batchDirs.toList()) {
+                try (Stream<Path> stream = Files.walk(batchDir)) {
+                    for (Path file : stream.filter(Files::isRegularFile).toList()) {
+                        Path targetFile = classesPath.resolve(toPortablePath(batchDir.relativize(file)));
+                        Files.createDirectories(targetFile.getParent());
+                        Files.move(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+        }
+
+        PathHelper.deleteContents(stagingPath.toFile());
+    }
+
+    private static boolean isDescriptor(String path) {
+        return path.toLowerCase(Locale.ROOT).endsWith(".fxmd");
+    }
+
+    private static String getClassFile(String descriptorPath) {
+        return descriptorPath.substring(0, descriptorPath.lastIndexOf('.')) + CLASS_EXTENSION;
+    }
+
+    private static String toPortablePath(Path path) {
+        return path.toString().replace(File.separatorChar, '/');
+    }
+
+    private record DescriptorFile(Path descriptorFile, Path classFile, String historyKey) {}
+}
@@ -0,0 +1,30 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.Action;
+import org.gradle.api.Task;
+import org.gradle.api.provider.Provider;
+
+/**
+ * Runs a task action only if FXML processing is enabled for the source set of the task. Whether a source set is
+ * enabled is only known after the build script was evaluated, which is after the action was added to the task.
+ */
+public final class ConditionalTaskAction implements Action<Task> {
+
+    private final Provider<Boolean> enabled;
+    private final Action<? super Task> action;
+
+    public ConditionalTaskAction(Provider<Boolean> enabled, Action<? super Task> action) {
+        this.enabled = enabled;
+        this.action = action;
+    }
+
+    @Override
+    public void execute(Task task) {
+        if (enabled.getOrElse(true)) {
+            action.execute(task);
+        }
+    }
+}
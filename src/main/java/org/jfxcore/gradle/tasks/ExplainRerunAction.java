@@ -0,0 +1,116 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.Task;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.Provider;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Explains which FXML-related inputs have caused a compilation task to be executed. The action must be the first
+ * action of the task, and does nothing unless rerun diagnostics are enabled.
+ * <p>
+ * The snapshot of the inputs is taken before the task runs, but it only replaces the snapshot of the last run when
+ * the action returned by {@link #saveSnapshotAction()} is executed as the last action of the task. Like Gradle, the
+ * next execution is then compared with the inputs of the last successful execution.
+ */
+public abstract class ExplainRerunAction implements Action<Task> {
+
+    private final Provider<Boolean> enabled;
+    private final Provider<RegularFile> snapshotFile;
+    private final Directory projectDir;
+    private final Map<String, FileCollection> fileInputs;
+    private final Provider<Map<String, String>> valueInputs;
+
+    @Inject
+    public ExplainRerunAction(
+            Provider<Boolean> enabled,
+            Provider<RegularFile> snapshotFile,
+            Directory projectDir,
+            Map<String, FileCollection> fileInputs,
+            Provider<Map<String, String>> valueInputs) {
+        this.enabled = enabled;
+        this.snapshotFile = snapshotFile;
+        this.projectDir = projectDir;
+        this.valueInputs = valueInputs;
+
+        // Gradle 8.10.2 cannot encode the JDK immutable map implementation in the configuration cache.
+        this.fileInputs = new LinkedHashMap<>(fileInputs);
+    }
+
+    @Override
+    public void execute(Task task) {
+        if (!enabled.getOrElse(false)) {
+            return;
+        }
+
+        var diagnostics = new RerunDiagnostics(projectDir.getAsFile());
+        Path snapshotPath = snapshotFile.get().getAsFile().toPath();
+
+        try {
+            for (Map.Entry<String, FileCollection> entry : fileInputs.entrySet()) {
+                diagnostics.addFiles(entry.getKey(), entry.getValue());
+            }
+
+            valueInputs.getOrElse(Map.of()).forEach(diagnostics::addValue);
+            diagnostics.explain(task.getLogger(), task.getPath(), snapshotPath);
+            diagnostics.save(pendingSnapshotFile(snapshotPath));
+        } catch (IOException ex) {
+            throw new GradleException(
+                String.format("Failed to record the inputs of %s: %s", task.getPath(), ex.getMessage()));
+        }
+    }
+
+    /**
+     * Returns the action that replaces the snapshot of the last run with the snapshot taken by this action.
+     */
+    public Action<Task> saveSnapshotAction() {
+        return new SaveSnapshotAction(enabled, snapshotFile);
+    }
+
+    private static Path pendingSnapshotFile(Path snapshotFile) {
+        return snapshotFile.resolveSibling(snapshotFile.getFileName() + ".pending");
+    }
+
+    private static final class SaveSnapshotAction implements Action<Task> {
+
+        private final Provider<Boolean> enabled;
+        private final Provider<RegularFile> snapshotFile;
+
+        SaveSnapshotAction(Provider<Boolean> enabled, Provider<RegularFile> snapshotFile) {
+            this.enabled = enabled;
+            this.snapshotFile = snapshotFile;
+        }
+
+        @Override
+        public void execute(Task task) {
+            if (!enabled.getOrElse(false)) {
+                return;
+            }
+
+            Path snapshotPath = snapshotFile.get().getAsFile().toPath();
+            Path pendingPath = pendingSnapshotFile(snapshotPath);
+
+            try {
+                if (Files.exists(pendingPath)) {
+                    Files.move(pendingPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException ex) {
+                throw new GradleException(
+                    String.format("Failed to record the inputs of %s: %s", task.getPath(), ex.getMessage()));
+            }
+        }
+    }
+}
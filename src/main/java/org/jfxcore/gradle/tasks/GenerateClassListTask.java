@@ -0,0 +1,120 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.jfxcore.gradle.PathHelper;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Generates the list of classes that were compiled from FXML documents, including their nested classes.
+ * <p>
+ * The class list uses the format expected by {@code -XX:SharedClassListFile}, and can be used to create an
+ * AppCDS archive that contains the FXML classes of an application. The preload manifest contains the binary
+ * names of the same classes, one per line, and can be packaged into the application jar, where it allows the
+ * application to load the classes ahead of time.
+ */
+@CacheableTask
+public abstract class GenerateClassListTask extends DefaultTask {
+
+    public static final String VERB = "generate";
+    public static final String TARGET = "fxmlClassList";
+
+    @InputFiles
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getIntermediateBuildDirs();
+
+    @InputFiles
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract DirectoryProperty getClassesDir();
+
+    @OutputFile
+    public abstract RegularFileProperty getClassListFile();
+
+    @OutputFile
+    public abstract RegularFileProperty getPreloadManifestFile();
+
+    @TaskAction
+    public void generate() {
+        Path classesPath = getClassesDir().get().getAsFile().toPath();
+
+        try {
+            Set<String> classNames = findCompiledClasses(classesPath, getIntermediateBuildDirs().getFiles());
+
+            writeLines(getClassListFile().get().getAsFile().toPath(), List.copyOf(classNames));
+            writeLines(getPreloadManifestFile().get().getAsFile().toPath(),
+                classNames.stream().map(name -> name.replace('/', '.')).toList());
+        } catch (IOException ex) {
+            throw new GradleException(
+                String.format("Failed to generate FXML class list: %s", ex.getMessage()), ex);
+        }
+    }
+
+    /**
+     * Returns the internal names of all classes in the classes directory that were compiled from a descriptor
+     * in one of the intermediate build directories, including their nested classes.
+     */
+    static Set<String> findCompiledClasses(Path classesPath, Iterable<File> intermediateBuildDirs) throws IOException {
+        Set<String> classNames = new TreeSet<>();
+
+        for (File intermediateBuildDir : intermediateBuildDirs) {
+            for (Path descriptorFile : PathHelper.getDescriptorFiles(intermediateBuildDir)) {
+                Path relDescPath = intermediateBuildDir.toPath().relativize(descriptorFile);
+                String fileName = PathHelper.getFileNameWithoutExtension(relDescPath);
+                Path relClassFile = relDescPath.resolveSibling(fileName + ".class");
+
+                if (Files.isRegularFile(classesPath.resolve(relClassFile))) {
+                    classNames.add(toInternalName(relClassFile));
+                    addNestedClasses(classesPath, relClassFile, fileName, classNames);
+                }
+            }
+        }
+
+        return classNames;
+    }
+
+    private static void addNestedClasses(
+            Path classesPath, Path relClassFile, String className, Set<String> classNames) throws IOException {
+        Path packageDir = classesPath.resolve(relClassFile).getParent();
+        String prefix = className + "$";
+
+        try (Stream<Path> stream = Files.list(packageDir)) {
+            stream.map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(prefix) && name.endsWith(".class"))
+                .map(relClassFile::resolveSibling)
+                .map(GenerateClassListTask::toInternalName)
+                .forEach(classNames::add);
+        }
+    }
+
+    private static String toInternalName(Path relClassFile) {
+        String path = relClassFile.toString().replace(File.separatorChar, '/');
+        return path.substring(0, path.length() - ".class".length());
+    }
+
+    private static void writeLines(Path file, List<String> lines) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines);
+    }
+}
@@ -0,0 +1,126 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.services.ServiceReference;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+import org.jfxcore.compiler.runner.ClassGeneratorRunner;
+import org.jfxcore.compiler.runner.CompilationUnitWrapper;
+import org.jfxcore.compiler.runner.RunnerException;
+import org.jfxcore.gradle.PathHelper;
+import javax.inject.Inject;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates only the Java stubs of the FXML documents of a source set. Unlike {@link ProcessFxmlTask}, this task
+ * does not write descriptors, and does not touch the compiled classes of the source set. It is used by consumers
+ * that only need the API of the generated classes, like the Javadoc task, so that they don't depend on Java
+ * compilation and bytecode rewriting.
+ */
+@CacheableTask
+public abstract class GenerateFxmlStubsTask extends DefaultTask {
+
+    public static final String VERB = "generate";
+    public static final String TARGET = "fxmlStubs";
+
+    @Classpath
+    public abstract Property<FileCollection> getSearchPath();
+
+    @Nested
+    public abstract ListProperty<FxmlSourceInfo> getFxmlSourceInfo();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getGeneratedSourcesDir();
+
+    /**
+     * The generated sources directory of {@link ProcessFxmlTask}, if it runs before this task in the same build.
+     * Both tasks generate the same stubs from the same inputs, so the stubs are copied instead of being generated
+     * a second time.
+     */
+    @Internal
+    public abstract DirectoryProperty getProcessedSourcesDir();
+
+    /**
+     * The build service that limits the memory used by concurrent FXML compilations.
+     */
+    @ServiceReference
+    public abstract Property<CompilationGovernor> getCompilationGovernor();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @TaskAction
+    public void generate() throws InterruptedException {
+        File genSrcDir = getGeneratedSourcesDir().get().getAsFile();
+
+        Map<Path, List<Path>> files = getFxmlSourceInfo().get().stream()
+            .collect(Collectors.toUnmodifiableMap(
+                x -> x.getSourceDir().get().getAsFile().toPath(),
+                x -> x.getFxmlFiles().get().getFiles().stream().map(File::toPath).toList()));
+
+        // Without FXML documents, there is nothing to generate that requires the search path or a class generator.
+        if (files.values().stream().allMatch(List::isEmpty)) {
+            setDidWork(PathHelper.deleteContents(genSrcDir));
+            return;
+        }
+
+        if (getProcessedSourcesDir().isPresent()) {
+            getFileSystemOperations().sync(spec -> spec
+                .from(getProcessedSourcesDir())
+                .include("**/*.java")
+                .into(genSrcDir));
+            return;
+        }
+
+        Set<Path> searchPath = getSearchPath().get().getFiles().stream().map(File::toPath).collect(Collectors.toSet());
+
+        try {
+            getFileSystemOperations().delete(spec -> spec.delete(genSrcDir));
+            Files.createDirectories(genSrcDir.toPath());
+
+            var logger = new GradleLoggerAdapter(getLogger());
+            long estimate = CompilationGovernor.estimate(searchPath, ProcessFxmlTask.documentBytes(files), 1);
+            int count = 0;
+
+            try (var reservation = getCompilationGovernor().get().reserve(estimate, getLogger());
+                 var generator = new ClassGeneratorRunner(searchPath, logger)) {
+                generator.addFileSources(files);
+
+                for (CompilationUnitWrapper compilationUnit : generator.process()) {
+                    Path sourceFile = compilationUnit.descriptor().resolveMarkupFile(genSrcDir, ".java").toPath();
+                    Files.createDirectories(sourceFile.getParent());
+                    Files.writeString(sourceFile, compilationUnit.generatedSourceText());
+                    ++count;
+                }
+            }
+
+            logger.summarize("Generated", count, "FXML stub", "FXML stubs");
+        } catch (RunnerException ex) {
+            throw new GradleException(ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (Throwable ex) {
+            throw new GradleException("Internal compiler error", ex);
+        }
+    }
+}
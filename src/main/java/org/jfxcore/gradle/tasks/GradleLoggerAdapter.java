@@ -5,8 +5,27 @@ package org.jfxcore.gradle.tasks;
 
 import org.gradle.api.logging.Logger;
 import org.jfxcore.compiler.runner.RunnerLogger;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
-record GradleLoggerAdapter(Logger logger) implements RunnerLogger {
+/**
+ * Forwards the messages of the FXML compiler to a Gradle logger.
+ * <p>
+ * The compiler reports progress for every document, which adds up to a large amount of console output for
+ * modules with many documents. Informational messages are therefore only logged at the {@code info} level, and
+ * are otherwise summarized in a single line that is logged by {@link #summarize}. Messages are forwarded without
+ * formatting, and messages of disabled log levels are discarded without being retained. The adapter can be shared
+ * by compiler runners on different threads.
+ */
+final class GradleLoggerAdapter implements RunnerLogger {
+
+    private final Logger logger;
+    private final long startTime = System.nanoTime();
+    private final AtomicInteger hiddenMessages = new AtomicInteger();
+
+    GradleLoggerAdapter(Logger logger) {
+        this.logger = logger;
+    }
 
     @Override
     public void error(String message) {
@@ -15,11 +34,44 @@ record GradleLoggerAdapter(Logger logger) implements RunnerLogger {
 
     @Override
     public void info(String message) {
-        logger.lifecycle(message);
+        if (logger.isInfoEnabled()) {
+            logger.info(message);
+        } else {
+            hiddenMessages.incrementAndGet();
+        }
     }
 
     @Override
     public void fine(String message) {
-        logger.info(message);
+        if (logger.isDebugEnabled()) {
+            logger.debug(message);
+        }
+    }
+
+    /**
+     * Logs a summary line like "Compiled 2,481 FXML classes in 3.2s", which also indicates
+     * how many informational messages were hidden.
+     *
+     * @param verb the verb of the summary, like "Compiled"
+     * @param noun the noun phrase of a single item, like "FXML class"
+     * @param pluralNoun the noun phrase of several items, like "FXML classes"
+     */
+    void summarize(String verb, int count, String noun, String pluralNoun) {
+        if (count == 0 || !logger.isLifecycleEnabled()) {
+            return;
+        }
+
+        String summary = String.format(
+            Locale.ROOT, "%s %,d %s in %.1fs",
+            verb, count, count == 1 ? noun : pluralNoun, (System.nanoTime() - startTime) / 1e9);
+
+        int hidden = hiddenMessages.get();
+        if (hidden > 0) {
+            summary += String.format(
+                Locale.ROOT, " (%,d compiler message%s hidden, run with --info to show them)",
+                hidden, hidden == 1 ? "" : "s");
+        }
+
+        logger.lifecycle(summary);
     }
 }
@@ -0,0 +1,103 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Reserves estimated amounts of heap memory for FXML compilations that run concurrently in the same daemon.
+ * <p>
+ * A reservation that does not fit into the remaining budget waits until enough memory was released by other
+ * compilations. A reservation that exceeds the entire budget is admitted when no other compilation is running,
+ * so that an underestimated budget queues work instead of failing the build. Reservations are admitted in the
+ * order in which they were requested, so that small reservations can't starve a large one that is waiting for
+ * other compilations to finish.
+ */
+final class HeapBudget {
+
+    private final long budgetBytes;
+    private final Deque<Object> waiting = new ArrayDeque<>();
+    private long reservedBytes;
+
+    HeapBudget(long budgetBytes) {
+        this.budgetBytes = Math.max(1, budgetBytes);
+    }
+
+    long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    synchronized long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    synchronized int getWaitingReservations() {
+        return waiting.size();
+    }
+
+    /**
+     * Determines whether a reservation of the specified size would currently have to wait.
+     */
+    synchronized boolean mustWait(long bytes) {
+        return !waiting.isEmpty() || !fits(bytes);
+    }
+
+    /**
+     * Reserves the specified number of bytes, waiting until they are available and all earlier
+     * reservations have been admitted.
+     */
+    Reservation reserve(long bytes) throws InterruptedException {
+        long size = Math.max(0, bytes);
+        Object ticket = new Object();
+
+        synchronized (this) {
+            waiting.addLast(ticket);
+
+            try {
+                while (waiting.peekFirst() != ticket || !fits(size)) {
+                    wait();
+                }
+            } catch (InterruptedException ex) {
+                waiting.remove(ticket);
+                notifyAll();
+                throw ex;
+            }
+
+            waiting.removeFirst();
+            reservedBytes += size;
+
+            // The next reservation in the queue may fit into the remaining budget as well.
+            notifyAll();
+        }
+
+        return new Reservation(size);
+    }
+
+    private boolean fits(long bytes) {
+        return reservedBytes == 0 || reservedBytes + bytes <= budgetBytes;
+    }
+
+    private synchronized void release(long bytes) {
+        reservedBytes -= bytes;
+        notifyAll();
+    }
+
+    final class Reservation implements AutoCloseable {
+        private final long bytes;
+        private boolean released;
+
+        private Reservation(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,422 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.jfxcore.compiler.runner.ClassGeneratorRunner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for the outputs of {@link ProcessFxmlTask} that is shared by all builds on a machine.
+ * <p>
+ * An entry contains the generated stubs and descriptors of all FXML documents of a source set. Its key is
+ * derived from the contents of the documents and their paths relative to the source root, the contents of the
+ * search path, and the FXML compiler jar. The key does not depend on the location of the project, so branches and
+ * worktrees with identical markup share the same entries.
+ * <p>
+ * Entries are immutable once published. Readers hold a shared lock and writers publish entries with an atomic
+ * move, while eviction holds an exclusive lock. The file lock coordinates several daemons, and an additional
+ * in-process lock coordinates tasks that run in parallel within the same daemon, since file locks are held on
+ * behalf of the entire JVM. For the same reason, a JVM cannot hold overlapping file locks, not even shared ones,
+ * so readers within the same daemon share a single file lock.
+ */
+final class LocalOutputCache {
+
+    private static final String ENTRIES_DIR = "entries";
+    private static final String LOCK_FILE = "cache.lock";
+    private static final String SOURCES_DIR = "java";
+    private static final String DESCRIPTORS_DIR = "fxmd";
+    private static final Map<Path, CacheLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+    private static final int MAX_CONTENT_HASHES = 16384;
+    private static final Map<Path, FileHash> CONTENT_HASHES = new ConcurrentHashMap<>();
+
+    private final Path cacheDir;
+    private final long maxSizeBytes;
+
+    LocalOutputCache(Path cacheDir, long maxSizeMegabytes) {
+        this.cacheDir = cacheDir;
+        this.maxSizeBytes = Math.max(0, maxSizeMegabytes) * 1024 * 1024;
+    }
+
+    /**
+     * Computes the cache key for the specified FXML documents, grouped by their source roots.
+     */
+    String computeKey(Set<Path> searchPath, Map<Path, List<Path>> files) throws IOException {
+        MessageDigest digest = newDigest();
+        update(digest, "compiler", hashCompilerJar());
+
+        // Search path entries are identified by their contents only, so that the key remains
+        // stable when the same libraries are resolved to different locations.
+        searchPath.stream()
+            .map(LocalOutputCache::hashContents)
+            .sorted()
+            .forEachOrdered(hash -> update(digest, "searchPath", hash));
+
+        List<String> documents = new ArrayList<>();
+
+        for (Map.Entry<Path, List<Path>> entry : files.entrySet()) {
+            for (Path file : entry.getValue()) {
+                String relativePath = toPortablePath(entry.getKey().relativize(file));
+                documents.add(relativePath + "\0" + hashContents(file));
+            }
+        }
+
+        documents.stream().sorted().forEachOrdered(document -> update(digest, "document", document));
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Copies the outputs stored for the specified key into the output directories.
+     *
+     * @return the paths of the restored stubs relative to {@code genSrcDir},
+     *         or {@code null} if the cache has no entry for the key
+     */
+    List<Path> restore(String key, Path genSrcDir, Path intermediateBuildDir) throws IOException {
+        return withLock(false, () -> {
+            Path entryDir = cacheDir.resolve(ENTRIES_DIR).resolve(key);
+            if (!Files.isDirectory(entryDir)) {
+                return null;
+            }
+
+            List<Path> stubs = copyTree(entryDir.resolve(SOURCES_DIR), genSrcDir);
+            copyTree(entryDir.resolve(DESCRIPTORS_DIR), intermediateBuildDir);
+
+            // The modification time of the entry directory records its last use for LRU eviction.
+            Files.setLastModifiedTime(entryDir, FileTime.fromMillis(System.currentTimeMillis()));
+            return stubs;
+        });
+    }
+
+    /**
+     * Stores the contents of the output directories under the specified key, and evicts the least recently used
+     * entries if the cache has grown beyond its size limit.
+     */
+    void store(String key, Path genSrcDir, Path intermediateBuildDir) throws IOException {
+        Path entriesDir = cacheDir.resolve(ENTRIES_DIR);
+        Path entryDir = entriesDir.resolve(key);
+        Path tempDir = entriesDir.resolve(key + "." + UUID.randomUUID() + ".tmp");
+
+        boolean published = withLock(false, () -> {
+            if (Files.isDirectory(entryDir)) {
+                return true;
+            }
+
+            copyTree(genSrcDir, tempDir.resolve(SOURCES_DIR));
+            copyTree(intermediateBuildDir, tempDir.resolve(DESCRIPTORS_DIR));
+
+            try {
+                Files.move(tempDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                return false;
+            } catch (IOException ex) {
+                discardDuplicateEntry(ex, tempDir, entryDir);
+            }
+
+            return true;
+        });
+
+        withLock(true, () -> {
+            // If the file system cannot move the entry atomically, the entry is published while no other build
+            // can read from the cache, so that readers never observe a partially moved entry. The temporary
+            // directory may have been evicted by another build in the meantime, in which case nothing is stored.
+            if (!published && Files.isDirectory(tempDir)) {
+                try {
+                    Files.move(tempDir, entryDir);
+                } catch (IOException ex) {
+                    discardDuplicateEntry(ex, tempDir, entryDir);
+                }
+            }
+
+            evict();
+            return null;
+        });
+    }
+
+    private static void discardDuplicateEntry(IOException ex, Path tempDir, Path entryDir) throws IOException {
+        // Another build has published the same entry in the meantime.
+        if (!(ex instanceof FileAlreadyExistsException) && !Files.isDirectory(entryDir)) {
+            throw ex;
+        }
+
+        deleteTree(tempDir);
+    }
+
+    private void evict() throws IOException {
+        Path entriesDir = cacheDir.resolve(ENTRIES_DIR);
+        if (!Files.isDirectory(entriesDir)) {
+            return;
+        }
+
+        List<CacheEntry> entries = new ArrayList<>();
+        long totalSize = 0;
+
+        try (Stream<Path> stream = Files.list(entriesDir)) {
+            for (Path entryDir : stream.toList()) {
+                // Writers hold a shared lock until their entry is published, so a temporary
+                // directory that is visible under the exclusive lock was left by a failed build.
+                if (entryDir.getFileName().toString().endsWith(".tmp")) {
+                    deleteTree(entryDir);
+                    continue;
+                }
+
+                long size = sizeOf(entryDir);
+                entries.add(new CacheEntry(entryDir, Files.getLastModifiedTime(entryDir), size));
+                totalSize += size;
+            }
+        }
+
+        entries.sort(Comparator.comparing(CacheEntry::lastUsed));
+
+        for (CacheEntry entry : entries) {
+            if (totalSize <= maxSizeBytes) {
+                break;
+            }
+
+            deleteTree(entry.path());
+            totalSize -= entry.size();
+        }
+    }
+
+    private <T> T withLock(boolean exclusive, LockedAction<T> action) throws IOException {
+        Files.createDirectories(cacheDir.resolve(ENTRIES_DIR));
+        Path lockFile = cacheDir.resolve(LOCK_FILE);
+        CacheLock cacheLock = PROCESS_LOCKS.computeIfAbsent(
+            cacheDir.toAbsolutePath().normalize(), ignored -> new CacheLock());
+
+        if (exclusive) {
+            cacheLock.processLock.writeLock().lock();
+
+            try (FileChannel channel = openLockFile(lockFile);
+                 FileLock ignored = channel.lock(0, Long.MAX_VALUE, false)) {
+                return action.run();
+            } finally {
+                cacheLock.processLock.writeLock().unlock();
+            }
+        }
+
+        cacheLock.processLock.readLock().lock();
+
+        try {
+            cacheLock.acquireShared(lockFile);
+
+            try {
+                return action.run();
+            } finally {
+                cacheLock.releaseShared();
+            }
+        } finally {
+            cacheLock.processLock.readLock().unlock();
+        }
+    }
+
+    private static FileChannel openLockFile(Path lockFile) throws IOException {
+        return FileChannel.open(
+            lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+    }
+
+    private static List<Path> copyTree(Path source, Path target) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(source)) {
+            return files;
+        }
+
+        try (Stream<Path> stream = Files.walk(source)) {
+            for (Path file : stream.filter(Files::isRegularFile).toList()) {
+                Path relativePath = source.relativize(file);
+                Path targetFile = target.resolve(relativePath.toString());
+                Files.createDirectories(targetFile.getParent());
+                Files.copy(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
+                files.add(relativePath);
+            }
+        }
+
+        return files;
+    }
+
+    private static void deleteTree(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+
+        try (Stream<Path> stream = Files.walk(path)) {
+            for (Path file : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static long sizeOf(Path path) throws IOException {
+        try (Stream<Path> stream = Files.walk(path)) {
+            long size = 0;
+
+            for (Path file : stream.filter(Files::isRegularFile).toList()) {
+                size += Files.size(file);
+            }
+
+            return size;
+        }
+    }
+
+    private static String hashCompilerJar() throws IOException {
+        try {
+            var location = ClassGeneratorRunner.class.getProtectionDomain().getCodeSource().getLocation();
+            return hashContents(Path.of(location.toURI()));
+        } catch (URISyntaxException ex) {
+            throw new IOException("Failed to locate the FXML compiler JAR file", ex);
+        }
+    }
+
+    /**
+     * Hashes the contents of a file or directory. File hashes are remembered for the lifetime of the daemon
+     * as long as the size and modification time of the file are unchanged, since search path entries are
+     * typically large and rarely change.
+     */
+    private static String hashContents(Path path) {
+        try {
+            if (Files.isDirectory(path)) {
+                MessageDigest digest = newDigest();
+
+                try (Stream<Path> stream = Files.walk(path)) {
+                    for (Path file : stream.filter(Files::isRegularFile).sorted().toList()) {
+                        update(digest, toPortablePath(path.relativize(file)), hashContents(file));
+                    }
+                }
+
+                return HexFormat.of().formatHex(digest.digest());
+            }
+
+            if (!Files.isRegularFile(path)) {
+                return "";
+            }
+
+            Path absolutePath = path.toAbsolutePath();
+            long size = Files.size(path);
+            FileTime lastModified = Files.getLastModifiedTime(path);
+            FileHash cached = CONTENT_HASHES.get(absolutePath);
+
+            if (cached != null && cached.size() == size && cached.lastModified().equals(lastModified)) {
+                return cached.hash();
+            }
+
+            MessageDigest digest = newDigest();
+
+            try (InputStream input = Files.newInputStream(path)) {
+                byte[] buffer = new byte[65536];
+                int read;
+
+                while ((read = input.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            // A long-lived daemon sees many projects and temporary files, so the number of remembered
+            // hashes must be bounded. Hashes are cheap to recompute, which makes a full reset sufficient.
+            if (CONTENT_HASHES.size() >= MAX_CONTENT_HASHES) {
+                CONTENT_HASHES.clear();
+            }
+
+            CONTENT_HASHES.put(absolutePath, new FileHash(size, lastModified, hash));
+            return hash;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void update(MessageDigest digest, String name, String value) {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte)0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private static String toPortablePath(Path path) {
+        return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    private interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * The locks of a cache directory within this JVM. The shared file lock is acquired by the first reader and
+     * released by the last one. Writers hold the in-process write lock, which excludes all readers of this JVM,
+     * so the shared file lock is never held while a writer acquires the exclusive file lock.
+     */
+    private static final class CacheLock {
+        final ReadWriteLock processLock = new ReentrantReadWriteLock();
+        private FileChannel sharedChannel;
+        private FileLock sharedLock;
+        private int sharedCount;
+
+        synchronized void acquireShared(Path lockFile) throws IOException {
+            if (sharedCount == 0) {
+                FileChannel channel = openLockFile(lockFile);
+
+                try {
+                    sharedLock = channel.lock(0, Long.MAX_VALUE, true);
+                } catch (IOException | RuntimeException ex) {
+                    channel.close();
+                    throw ex;
+                }
+
+                sharedChannel = channel;
+            }
+
+            ++sharedCount;
+        }
+
+        synchronized void releaseShared() throws IOException {
+            if (--sharedCount > 0) {
+                return;
+            }
+
+            try (FileChannel channel = sharedChannel) {
+                sharedLock.release();
+            } finally {
+                sharedLock = null;
+                sharedChannel = null;
+            }
+        }
+    }
+
+    private record CacheEntry(Path path, FileTime lastUsed, long size) {}
+
+    private record FileHash(long size, FileTime lastModified, String hash) {}
+}
@@ -0,0 +1,149 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the outputs of generated compilation units on background threads, so that the generator can continue
+ * with the next compilation unit while the outputs of the previous one are written to disk. Write actions must
+ * only capture values that are safe to use on other threads, like file paths and text, and not the objects of
+ * the generator.
+ * <p>
+ * Pending writes are held in a bounded queue, and {@link #submit} blocks when the queue is full, which limits the
+ * number of generated compilation units that are retained in memory. Writes are numbered in submission order.
+ * When a write fails, writes with a higher number are skipped, and {@link #close} reports the failure of the first
+ * failed write in submission order, which makes the reported failure independent of thread scheduling.
+ * <p>
+ * If the runtime supports virtual threads, several virtual threads are used to write outputs, otherwise a single
+ * platform thread is used.
+ */
+final class OutputWriter implements AutoCloseable {
+
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int VIRTUAL_WRITER_THREADS = 4;
+    private static final Method OF_VIRTUAL;
+    private static final Method UNSTARTED;
+
+    static {
+        Method ofVirtual = null, unstarted = null;
+
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+            // Virtual threads are not available, or are a preview feature of this runtime.
+            ofVirtual = null;
+            unstarted = null;
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        UNSTARTED = unstarted;
+    }
+
+    private static final Write END = new Write(Long.MAX_VALUE, () -> {});
+
+    private final BlockingQueue<Write> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final List<Thread> threads = new ArrayList<>();
+    private final Map<Long, Throwable> failures = new ConcurrentSkipListMap<>();
+    private final AtomicLong firstFailure = new AtomicLong(Long.MAX_VALUE);
+    private long nextSequence;
+
+    OutputWriter() {
+        int threadCount = OF_VIRTUAL != null ? VIRTUAL_WRITER_THREADS : 1;
+
+        for (int i = 0; i < threadCount; ++i) {
+            Thread thread = newThread(this::run);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Enqueues a write, and blocks if the queue is full.
+     */
+    void submit(WriteAction action) throws InterruptedException {
+        queue.put(new Write(nextSequence++, action));
+    }
+
+    /**
+     * Indicates whether a write has failed, in which case no further writes need to be submitted.
+     */
+    boolean hasFailed() {
+        return firstFailure.get() != Long.MAX_VALUE;
+    }
+
+    /**
+     * Waits until all submitted writes have completed, and rethrows the first failure in submission order.
+     */
+    @Override
+    public void close() throws Exception {
+        for (int i = 0; i < threads.size(); ++i) {
+            queue.put(END);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Throwable failure = failures.values().stream().findFirst().orElse(null);
+
+        if (failure instanceof Exception ex) {
+            throw ex;
+        }
+
+        if (failure instanceof Error ex) {
+            throw ex;
+        }
+    }
+
+    private void run() {
+        try {
+            Write write;
+
+            while ((write = queue.take()) != END) {
+                if (write.sequence() > firstFailure.get()) {
+                    continue;
+                }
+
+                try {
+                    write.action().run();
+                } catch (Throwable ex) {
+                    failures.put(write.sequence(), ex);
+                    firstFailure.accumulateAndGet(write.sequence(), Math::min);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Thread newThread(Runnable runnable) {
+        if (OF_VIRTUAL != null) {
+            try {
+                return (Thread)UNSTARTED.invoke(OF_VIRTUAL.invoke(null), runnable);
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException("Failed to create a virtual thread", ex);
+            }
+        }
+
+        Thread thread = new Thread(runnable, "FXML output writer");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    interface WriteAction {
+        void run() throws Exception;
+    }
+
+    private record Write(long sequence, WriteAction action) {}
+}
@@ -8,19 +8,25 @@ import org.gradle.api.GradleException;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.services.ServiceReference;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
 import org.jfxcore.compiler.runner.ClassGeneratorRunner;
 import org.jfxcore.compiler.runner.CompilationUnitDescriptorWrapper;
 import org.jfxcore.compiler.runner.CompilationUnitWrapper;
 import org.jfxcore.compiler.runner.RunnerException;
+import org.jfxcore.gradle.PathHelper;
 import javax.inject.Inject;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -43,71 +49,219 @@ public abstract class ProcessFxmlTask extends DefaultTask {
     @Nested
     public abstract ListProperty<FxmlSourceInfo> getFxmlSourceInfo();
 
-    @Internal
-    public abstract DirectoryProperty getClassesDir();
-
     @OutputDirectory
     public abstract DirectoryProperty getGeneratedSourcesDir();
 
     @OutputDirectory
     public abstract DirectoryProperty getIntermediateBuildDir();
 
+    /**
+     * The directory of the machine-wide output cache, or no value if the output cache is disabled.
+     * The cache only holds copies of task outputs, so it does not contribute to the task's identity.
+     */
+    @Internal
+    @Optional
+    public abstract DirectoryProperty getLocalOutputCacheDir();
+
+    @Internal
+    public abstract Property<Long> getLocalOutputCacheSize();
+
+    /**
+     * Controls whether the task explains which of its inputs have changed since its previous execution.
+     */
+    @Internal
+    public abstract Property<Boolean> getExplainReruns();
+
+    @Internal
+    public abstract RegularFileProperty getRerunSnapshotFile();
+
+    /**
+     * The build service that limits the memory used by concurrent FXML compilations.
+     */
+    @ServiceReference
+    public abstract Property<CompilationGovernor> getCompilationGovernor();
+
     @Inject
     protected abstract FileSystemOperations getFileSystemOperations();
 
+    @Inject
+    protected abstract ProjectLayout getProjectLayout();
+
     @TaskAction
-    public void process() {
-        Set<Path> searchPath = getSearchPath().get().getFiles().stream().map(File::toPath).collect(Collectors.toSet());
+    public void process() throws InterruptedException {
         File intermediateBuildDir = getIntermediateBuildDir().get().getAsFile();
         File genSrcDir = getGeneratedSourcesDir().get().getAsFile();
-        File classesDir = getClassesDir().get().getAsFile();
 
-        try (var generator = new ClassGeneratorRunner(searchPath, new GradleLoggerAdapter(getLogger()))) {
-            // The generator processes the complete set of FXML files on every invocation. Rebuild its dedicated
-            // output directories as well, otherwise outputs for removed or renamed FXML files remain discoverable
-            // by the Java compiler and the post-compilation FXML compiler action.
-            getFileSystemOperations().delete(spec -> spec.delete(genSrcDir, intermediateBuildDir));
-            Files.createDirectories(genSrcDir.toPath());
-            Files.createDirectories(intermediateBuildDir.toPath());
+        Map<Path, List<Path>> files = getFxmlSourceInfo().get().stream()
+            .collect(Collectors.toUnmodifiableMap(
+                x -> x.getSourceDir().get().getAsFile().toPath(),
+                x -> x.getFxmlFiles().get().getFiles().stream().map(File::toPath).toList()));
 
-            Map<Path, List<Path>> files = getFxmlSourceInfo().get().stream()
-                .collect(Collectors.toUnmodifiableMap(
-                    x -> x.getSourceDir().get().getAsFile().toPath(),
-                    x -> x.getFxmlFiles().get().getFiles().stream().map(File::toPath).toList()));
+        if (files.values().stream().allMatch(List::isEmpty)) {
+            processEmptySourceSet(files, genSrcDir, intermediateBuildDir);
+            return;
+        }
 
-            generator.addFileSources(files);
+        Set<Path> searchPath = getSearchPath().get().getFiles().stream().map(File::toPath).collect(Collectors.toSet());
 
-            for (CompilationUnitWrapper compilationUnit : generator.process()) {
-                CompilationUnitDescriptorWrapper descriptor = compilationUnit.descriptor();
-                File classFile = descriptor.resolveMarkupFile(classesDir, ".class");
-                Path sourceFile = descriptor.resolveMarkupFile(genSrcDir, ".java").toPath();
+        LocalOutputCache outputCache = getLocalOutputCacheDir().isPresent()
+            ? new LocalOutputCache(
+                getLocalOutputCacheDir().get().getAsFile().toPath(),
+                getLocalOutputCacheSize().get())
+            : null;
+
+        // Outputs are staged in the task's temporary directory and only replace the previous outputs once all
+        // documents were processed successfully. If a document fails to compile, the outputs of the last
+        // successful run remain in place, so Java stubs of valid documents stay available to the IDE, and
+        // the task does not need to start from an empty output directory after the error has been fixed.
+        File stagingDir = getTemporaryDir();
+        File stagedGenSrcDir = new File(stagingDir, "java");
+        File stagedIntermediateBuildDir = new File(stagingDir, "fxmd");
+
+        try {
+            RerunDiagnostics diagnostics = getExplainReruns().getOrElse(false) ? explainRerun(files) : null;
+
+            getFileSystemOperations().delete(spec -> spec.delete(stagedGenSrcDir, stagedIntermediateBuildDir));
+            Files.createDirectories(stagedGenSrcDir.toPath());
+            Files.createDirectories(stagedIntermediateBuildDir.toPath());
 
-                // Delete all .class files that may have been created by a previous compiler run.
-                // This is necessary because the FXML compiler needs a 'clean slate' to work with.
-                if (classFile.exists()) {
-                    classFile.delete();
+            String cacheKey = outputCache != null ? outputCache.computeKey(searchPath, files) : null;
+            List<Path> restoredStubs = outputCache != null
+                ? outputCache.restore(cacheKey, stagedGenSrcDir.toPath(), stagedIntermediateBuildDir.toPath())
+                : null;
+
+            if (restoredStubs != null) {
+                getLogger().info("Restored FXML outputs from local output cache entry {}", cacheKey);
+            } else {
+                generate(searchPath, files, stagedGenSrcDir, stagedIntermediateBuildDir);
+
+                if (outputCache != null) {
+                    outputCache.store(cacheKey, stagedGenSrcDir.toPath(), stagedIntermediateBuildDir.toPath());
                 }
+            }
 
-                // Generate the .java stub classes in the generated sources directory.
-                // These files will be compiled by the Java compiler before the FXML compiler runs.
-                Files.createDirectories(sourceFile.getParent());
-                Files.writeString(
-                    sourceFile,
-                    compilationUnit.generatedSourceText(),
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING);
+            // The generator processes the complete set of FXML files on every invocation. Synchronizing the
+            // output directories removes outputs for removed or renamed FXML files, which would otherwise remain
+            // discoverable by the Java compiler and the post-compilation FXML compiler action.
+            getFileSystemOperations().sync(spec -> {
+                spec.from(stagedGenSrcDir);
+                spec.into(genSrcDir);
+            });
 
-                // Generate the .fxmd files that are placed in the intermediate build directory.
-                // These files will be picked up by the FXML compiler after the Java compiler has finished, and
-                // contain information that the FXML compiler needs to rewrite the bytecode of the stub classes.
-                descriptor.writeTo(intermediateBuildDir);
+            getFileSystemOperations().sync(spec -> {
+                spec.from(stagedIntermediateBuildDir);
+                spec.into(intermediateBuildDir);
+            });
+
+            // The snapshot is only replaced after a successful execution, as Gradle
+            // also compares the inputs with those of the last successful execution.
+            if (diagnostics != null) {
+                diagnostics.save(getRerunSnapshotFile().get().getAsFile().toPath());
             }
         } catch (RunnerException ex) {
             throw new GradleException(ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
         } catch (Throwable ex) {
             throw new GradleException("Internal compiler error", ex);
         }
 
         setDidWork(true);
     }
+
+    /**
+     * Most source sets don't contain FXML documents. For these source sets, the task neither resolves the search
+     * path nor creates a class generator, and only removes the outputs that remain from the last FXML document.
+     */
+    private void processEmptySourceSet(Map<Path, List<Path>> files, File genSrcDir, File intermediateBuildDir) {
+        try {
+            RerunDiagnostics diagnostics = getExplainReruns().getOrElse(false) ? explainRerun(files) : null;
+            boolean deletedStubs = PathHelper.deleteContents(genSrcDir);
+            boolean deletedDescriptors = PathHelper.deleteContents(intermediateBuildDir);
+
+            if (diagnostics != null) {
+                diagnostics.save(getRerunSnapshotFile().get().getAsFile().toPath());
+            }
+
+            getLogger().info("Skipping FXML processing, source set contains no FXML files");
+            setDidWork(deletedStubs || deletedDescriptors);
+        } catch (IOException ex) {
+            throw new GradleException("Internal compiler error", ex);
+        }
+    }
+
+    private RerunDiagnostics explainRerun(Map<Path, List<Path>> files) throws IOException {
+        var diagnostics = new RerunDiagnostics(getProjectLayout().getProjectDirectory().getAsFile());
+
+        for (List<Path> sourceFiles : files.values()) {
+            diagnostics.addFiles("FXML file", sourceFiles.stream().map(Path::toFile).toList());
+        }
+
+        diagnostics.addFiles("classpath entry", getCompileClasspath().get());
+        diagnostics.explain(getLogger(), getPath(), getRerunSnapshotFile().get().getAsFile().toPath());
+        return diagnostics;
+    }
+
+    private void generate(Set<Path> searchPath,
+                          Map<Path, List<Path>> files,
+                          File genSrcDir,
+                          File intermediateBuildDir) throws Exception {
+        // Java stubs are written by a separate stage, so that the generator can process the next compilation unit
+        // while the stub of the previous one is written. The writer only receives file paths and source text, as
+        // the objects of the generator are not safe to use on other threads. The writer is closed before the
+        // generator, which ensures that all outputs have been written when the generator releases its resources.
+        var logger = new GradleLoggerAdapter(getLogger());
+        long estimate = CompilationGovernor.estimate(searchPath, documentBytes(files), 1);
+        int count = 0;
+
+        try (var reservation = getCompilationGovernor().get().reserve(estimate, getLogger());
+             var generator = new ClassGeneratorRunner(searchPath, logger);
+             var writer = new OutputWriter()) {
+            generator.addFileSources(files);
+
+            for (CompilationUnitWrapper compilationUnit : generator.process()) {
+                if (writer.hasFailed()) {
+                    break;
+                }
+
+                ++count;
+
+                CompilationUnitDescriptorWrapper descriptor = compilationUnit.descriptor();
+                Path sourceFile = descriptor.resolveMarkupFile(genSrcDir, ".java").toPath();
+                String sourceText = compilationUnit.generatedSourceText();
+
+                // Generate the .fxmd files that are placed in the intermediate build directory.
+                // These files will be picked up by the FXML compiler after the Java compiler has finished, and
+                // contain information that the FXML compiler needs to rewrite the bytecode of the stub classes.
+                // The descriptor refers to the object model of the generator, so it is serialized on this thread.
+                descriptor.writeTo(intermediateBuildDir);
+
+                writer.submit(() -> {
+                    // Generate the .java stub classes in the generated sources directory.
+                    // These files will be compiled by the Java compiler before the FXML compiler runs.
+                    Files.createDirectories(sourceFile.getParent());
+                    Files.writeString(
+                        sourceFile,
+                        sourceText,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                });
+            }
+        }
+
+        logger.summarize("Generated", count, "FXML class", "FXML classes");
+    }
+
+    static long documentBytes(Map<Path, List<Path>> files) throws IOException {
+        long size = 0;
+
+        for (List<Path> sourceFiles : files.values()) {
+            for (Path file : sourceFiles) {
+                size += Files.size(file);
+            }
+        }
+
+        return size;
+    }
 }
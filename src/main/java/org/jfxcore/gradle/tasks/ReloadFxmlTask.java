@@ -0,0 +1,175 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.DisableCachingByDefault;
+import org.jfxcore.gradle.agent.FxmlReloadAgent;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Sends the FXML classes that have changed since the previous execution of this task to a running application
+ * that was started with the {@link FxmlReloadAgent}.
+ * <p>
+ * The task runs after the classes of the source set were compiled by the regular {@code process{SourceSet}Fxml}
+ * and {@code compile{SourceSet}Java} pipeline. It compares the compiled FXML classes with a snapshot of the
+ * previous execution, and writes a reload request for the changed classes to the reload directory, which is
+ * watched by the agent. The first execution only records the snapshot. Combined with continuous builds, this
+ * reloads FXML views whenever their markup is saved.
+ */
+@DisableCachingByDefault(because = "Sends changed classes to a running application")
+public abstract class ReloadFxmlTask extends DefaultTask {
+
+    public static final String VERB = "reload";
+    public static final String TARGET = "fxml";
+
+    @Internal
+    public abstract ConfigurableFileCollection getIntermediateBuildDirs();
+
+    @Internal
+    public abstract DirectoryProperty getClassesDir();
+
+    @Internal
+    public abstract DirectoryProperty getReloadDir();
+
+    @Internal
+    public abstract RegularFileProperty getSnapshotFile();
+
+    public ReloadFxmlTask() {
+        getOutputs().upToDateWhen(task -> false);
+    }
+
+    @TaskAction
+    public void reload() {
+        Path classesPath = getClassesDir().get().getAsFile().toPath();
+        Path reloadDir = getReloadDir().get().getAsFile().toPath();
+        Path snapshotFile = getSnapshotFile().get().getAsFile().toPath();
+
+        try {
+            Set<String> classNames = GenerateClassListTask.findCompiledClasses(
+                classesPath, getIntermediateBuildDirs().getFiles());
+
+            Map<String, String> snapshot = new TreeMap<>();
+            for (String className : classNames) {
+                snapshot.put(className, hash(classesPath.resolve(className + ".class")));
+            }
+
+            Map<String, String> previousSnapshot = readSnapshot(snapshotFile);
+            Map<String, String> request = new LinkedHashMap<>();
+
+            if (previousSnapshot != null) {
+                for (Map.Entry<String, String> entry : snapshot.entrySet()) {
+                    if (!entry.getValue().equals(previousSnapshot.get(entry.getKey()))) {
+                        Path classFile = classesPath.resolve(entry.getKey() + ".class").toAbsolutePath();
+                        request.put(entry.getKey().replace('/', '.'), classFile.toString());
+                    }
+                }
+            }
+
+            if (!request.isEmpty()) {
+                writeRequest(reloadDir, request);
+            }
+
+            writeSnapshot(snapshotFile, snapshot);
+
+            getLogger().lifecycle("Requested reload of {} FXML classes. Start the application with "
+                + "-javaagent:{}={} to apply changes while it is running.",
+                request.size(), getAgentJar(), reloadDir);
+        } catch (IOException ex) {
+            throw new GradleException(
+                String.format("Failed to request FXML reload: %s", ex.getMessage()), ex);
+        }
+    }
+
+    /**
+     * Writes a reload request for the specified classes. The snapshot of this task advances with every request,
+     * so a request that was not yet consumed by the agent is merged into the new request instead of being
+     * replaced. If the agent claims the pending request in the meantime, some classes are reloaded twice.
+     */
+    private static void writeRequest(Path reloadDir, Map<String, String> request) throws IOException {
+        Path requestFile = reloadDir.resolve(FxmlReloadAgent.REQUEST_FILE);
+        Map<String, String> mergedRequest = new LinkedHashMap<>();
+
+        try {
+            for (String line : Files.readAllLines(requestFile)) {
+                int separator = line.indexOf('\t');
+                if (separator > 0) {
+                    mergedRequest.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        } catch (NoSuchFileException ex) {
+            // There is no pending request.
+        }
+
+        mergedRequest.putAll(request);
+
+        Files.createDirectories(reloadDir);
+        Path tempFile = reloadDir.resolve(FxmlReloadAgent.REQUEST_FILE + ".tmp");
+        Files.write(tempFile, mergedRequest.entrySet().stream()
+            .map(entry -> entry.getKey() + "\t" + entry.getValue())
+            .toList());
+        Files.move(tempFile, requestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Map<String, String> readSnapshot(Path snapshotFile) throws IOException {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+
+        Map<String, String> snapshot = new TreeMap<>();
+
+        for (String line : Files.readAllLines(snapshotFile)) {
+            int separator = line.indexOf('\t');
+            if (separator > 0) {
+                snapshot.put(line.substring(0, separator), line.substring(separator + 1));
+            }
+        }
+
+        return snapshot;
+    }
+
+    private static void writeSnapshot(Path snapshotFile, Map<String, String> snapshot) throws IOException {
+        Files.createDirectories(snapshotFile.getParent());
+        Files.write(snapshotFile, snapshot.entrySet().stream()
+            .map(entry -> entry.getKey() + "\t" + entry.getValue())
+            .toList());
+    }
+
+    private static String hash(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(Files.readAllBytes(file)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    private static File getAgentJar() {
+        try {
+            var location = FxmlReloadAgent.class.getProtectionDomain().getCodeSource().getLocation();
+            return new File(location.toURI());
+        } catch (URISyntaxException ex) {
+            throw new GradleException("Failed to locate the FXML reload agent", ex);
+        }
+    }
+}
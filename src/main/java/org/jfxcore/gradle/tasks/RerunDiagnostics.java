@@ -0,0 +1,170 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.gradle.api.logging.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Explains why a task was executed by comparing the FXML-related inputs of the current execution with those of
+ * the previous execution.
+ * <p>
+ * Gradle only reports the first few changed input files of a task, without distinguishing which input property
+ * they belong to. The diagnostics record every input file with its category and content hash, and every input
+ * value, so that each change can be attributed to a specific file, classpath entry or setting. Paths within the
+ * project directory are recorded relative to it.
+ */
+final class RerunDiagnostics {
+
+    private static final String HEADER = "# fxml-rerun-snapshot v1";
+
+    private final Path projectDir;
+    private final Map<String, String> entries = new TreeMap<>();
+
+    RerunDiagnostics(File projectDir) {
+        this.projectDir = projectDir.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * Records the contents of the specified files. Directories are recorded with all files they contain.
+     */
+    void addFiles(String category, Iterable<File> files) throws IOException {
+        for (File file : files) {
+            Path path = file.toPath();
+
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> stream = Files.walk(path)) {
+                    for (Path child : stream.filter(Files::isRegularFile).toList()) {
+                        entries.put(category + " " + displayPath(child), hash(child));
+                    }
+                }
+            } else if (Files.isRegularFile(path)) {
+                entries.put(category + " " + displayPath(path), hash(path));
+            }
+        }
+    }
+
+    void addValue(String name, String value) {
+        entries.put(name, value);
+    }
+
+    /**
+     * Logs the differences between the recorded inputs and the inputs of the previous execution, which are
+     * read from the snapshot file.
+     */
+    void explain(Logger logger, String taskPath, Path snapshotFile) {
+        Map<String, String> previous = load(snapshotFile);
+
+        if (previous == null) {
+            logger.lifecycle("{} was executed because no previous execution was recorded.", taskPath);
+            return;
+        }
+
+        List<String> reasons = new ArrayList<>();
+
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            String previousValue = previous.get(entry.getKey());
+
+            if (previousValue == null) {
+                reasons.add(entry.getKey() + " was added");
+            } else if (!previousValue.equals(entry.getValue())) {
+                reasons.add(entry.getKey() + " has changed");
+            }
+        }
+
+        for (String key : previous.keySet()) {
+            if (!entries.containsKey(key)) {
+                reasons.add(key + " was removed");
+            }
+        }
+
+        if (reasons.isEmpty()) {
+            logger.lifecycle("{} was executed, but none of its FXML inputs have changed. "
+                + "Run the build with --info to see the other inputs that have changed.", taskPath);
+            return;
+        }
+
+        var message = new StringBuilder(taskPath).append(" was executed because:");
+        for (String reason : reasons) {
+            message.append(System.lineSeparator()).append("    ").append(reason);
+        }
+
+        logger.lifecycle(message.toString());
+    }
+
+    void save(Path snapshotFile) throws IOException {
+        Files.createDirectories(snapshotFile.getParent());
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            lines.add(entry.getKey() + "\t" + entry.getValue());
+        }
+
+        Files.write(tempFile, lines, StandardCharsets.UTF_8);
+        Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Map<String, String> load(Path snapshotFile) {
+        try {
+            List<String> lines = Files.readAllLines(snapshotFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+                return null;
+            }
+
+            Map<String, String> result = new TreeMap<>();
+
+            for (String line : lines.subList(1, lines.size())) {
+                int separator = line.lastIndexOf('\t');
+                if (separator > 0) {
+                    result.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+
+            return result;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private String displayPath(Path path) {
+        Path absolutePath = path.toAbsolutePath().normalize();
+        Path displayPath = absolutePath.startsWith(projectDir) ? projectDir.relativize(absolutePath) : absolutePath;
+        return displayPath.toString().replace(File.separatorChar, '/');
+    }
+
+    private static String hash(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            try (InputStream input = Files.newInputStream(file)) {
+                byte[] buffer = new byte[65536];
+                int read;
+
+                while ((read = input.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tooling;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tooling API model that describes how the FXML plugin is configured for a project.
+ * <p>
+ * IDEs can request this model during project import to configure generated source directories and FXML
+ * source roots without running any task of the build. The model is built from the project configuration only,
+ * so the directories it describes might not exist yet.
+ */
+public interface FxmlModel {
+
+    /**
+     * Indicates whether the plugin processes the {@code ComponentView} annotation.
+     */
+    boolean isAnnotationProcessing();
+
+    /**
+     * Returns the file extensions used to select FXML source files.
+     */
+    List<String> getSourceFileExtensions();
+
+    /**
+     * Returns the Ant-style patterns that select FXML source files. If there are no patterns,
+     * all FXML source files are selected.
+     */
+    List<String> getIncludes();
+
+    /**
+     * Returns the Ant-style patterns that exclude FXML source files.
+     */
+    List<String> getExcludes();
+
+    /**
+     * Returns the names of the source sets that are not processed by the plugin.
+     */
+    Set<String> getDisabledSourceSets();
+
+    /**
+     * Returns the FXML configuration of each source set of the project, except for disabled source sets.
+     */
+    List<FxmlSourceSetModel> getSourceSets();
+}
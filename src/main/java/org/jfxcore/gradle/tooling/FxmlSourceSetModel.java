@@ -0,0 +1,45 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tooling;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Describes the FXML source roots and output directories of a single source set.
+ */
+public interface FxmlSourceSetModel {
+
+    /**
+     * Returns the name of the source set.
+     */
+    String getName();
+
+    /**
+     * Returns the source directories that are searched for FXML documents.
+     */
+    List<File> getSourceDirs();
+
+    /**
+     * Returns the FXML documents of the source directories that are selected by the file extensions and the
+     * include and exclude patterns of the plugin.
+     */
+    List<File> getFxmlFiles();
+
+    /**
+     * Returns the directory that contains the Java stubs generated for the FXML documents.
+     */
+    File getGeneratedSourcesDir();
+
+    /**
+     * Returns the directories that contain the compilation unit descriptors of FXML documents, and of
+     * FXML markup that is embedded in {@code ComponentView} annotations.
+     */
+    List<File> getIntermediateBuildDirs();
+
+    /**
+     * Returns the directory that contains the compiled classes of the source set.
+     */
+    File getClassesDir();
+}
@@ -55,6 +55,35 @@ class AnnotationProcessingFunctionalTest {
         assertCompiledClass(compiled("integrationTest", "IntegrationInlineViewBase"));
     }
 
+    @Test
+    void deletedComponentViewRemovesOnlyItsOwnDescriptor() throws IOException {
+        copyFixture("annotation-processing", projectDir);
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+
+        Files.writeString(
+            buildScript,
+            Files.readString(buildScript).replace("annotationProcessing = false", "annotationProcessing = true"));
+
+        Files.writeString(source("main", "InlineView.java"), enabledSource("InlineView"));
+        Files.writeString(source("main", "OtherView.java"), enabledSource("OtherView"));
+
+        var initial = build(projectDir, "classes");
+
+        assertOutcome(initial, ":compileJava", TaskOutcome.SUCCESS);
+        assertTrue(Files.isRegularFile(descriptor("main", "InlineViewBase")));
+        assertTrue(Files.isRegularFile(descriptor("main", "OtherViewBase")));
+
+        Files.delete(source("main", "OtherView.java"));
+
+        var deleted = build(projectDir, "classes");
+
+        assertOutcome(deleted, ":compileJava", TaskOutcome.SUCCESS);
+        assertFalse(Files.exists(descriptor("main", "OtherViewBase")));
+        assertFalse(Files.exists(compiled("main", "OtherViewBase")));
+        assertTrue(Files.isRegularFile(descriptor("main", "InlineViewBase")));
+        assertCompiledClass(compiled("main", "InlineViewBase"));
+    }
+
     @Test
     void unrelatedGeneratedAllSourceDirectoryRequiresNoProducerWiring() throws IOException {
         copyFixture("unrelated-generated-source", projectDir);
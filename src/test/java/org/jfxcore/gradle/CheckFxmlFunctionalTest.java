@@ -0,0 +1,46 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckFxmlFunctionalTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void checksDocumentsWithoutGeneratingOrCompilingClasses() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path fxml = projectDir.resolve("src/main/java/test/MainView.fxmlx");
+
+        var valid = build(projectDir, "checkFxml");
+
+        assertOutcome(valid, ":checkFxml", TaskOutcome.SUCCESS);
+        assertNull(valid.task(":processFxml"));
+        assertNull(valid.task(":compileJava"));
+        assertFalse(Files.exists(projectDir.resolve("build/generated/sources/fxml")));
+        assertFalse(Files.exists(projectDir.resolve("build/fxml/default")));
+        assertFalse(Files.exists(projectDir.resolve("build/classes")));
+        assertEquals(
+            "test/MainView.fxmlx",
+            Files.readString(projectDir.resolve("build/fxml/check/main/checked-files.txt")).trim());
+
+        var unchanged = build(projectDir, "checkFxml");
+        assertOutcome(unchanged, ":checkFxml", TaskOutcome.UP_TO_DATE);
+
+        Files.writeString(fxml, "<Pane");
+        var malformed = runner(projectDir, "checkFxml").buildAndFail();
+
+        assertParseError(malformed, "MainView.fxmlx");
+    }
+}
@@ -0,0 +1,53 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarFile;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassListFunctionalTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void generatesClassListAndPackagesPreloadManifest() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+
+        var withoutManifest = build(projectDir, "jar", "generateFxmlClassList");
+
+        assertOutcome(withoutManifest, ":generateFxmlClassList", TaskOutcome.SUCCESS);
+        assertTrue(Files.readAllLines(projectDir.resolve("build/fxml-classlist/main/classlist"))
+            .contains("test/MainViewBase"));
+        assertNull(preloadManifest());
+
+        Files.writeString(buildScript, Files.readString(buildScript).replace(
+            "sourceFileExtensions = listOf(\"fxmlx\")",
+            "sourceFileExtensions = listOf(\"fxmlx\")\n    preloadManifest = true"));
+
+        var withManifest = build(projectDir, "jar");
+
+        assertOutcome(withManifest, ":jar", TaskOutcome.SUCCESS);
+        assertNotNull(preloadManifest());
+        assertTrue(List.of(preloadManifest().split("\\R")).contains("test.MainViewBase"));
+    }
+
+    private String preloadManifest() throws IOException {
+        try (var jar = new JarFile(projectDir.resolve("build/libs/lifecycle-functional-test.jar").toFile())) {
+            var entry = jar.getJarEntry("META-INF/jfxcore/fxml-preload.txt");
+            return entry == null ? null : new String(jar.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
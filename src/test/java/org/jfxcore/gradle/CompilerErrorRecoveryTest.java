@@ -26,11 +26,7 @@ class CompilerErrorRecoveryTest {
         Files.writeString(fxml, "<Pane");
         var malformed = runner(projectDir, "classes").buildAndFail();
 
-        assertTrue(
-            malformed.getOutput().contains("MainView.fxmlx")
-            || malformed.getOutput().toLowerCase().contains("xml"));
-
-        assertFalse(malformed.getOutput().contains("> Internal compiler error"));
+        assertParseError(malformed, "MainView.fxmlx");
 
         Files.writeString(fxml, """
             <?import missing.DoesNotExist?>
@@ -42,7 +38,7 @@ class CompilerErrorRecoveryTest {
 
         var missingType = runner(projectDir, "classes").buildAndFail();
 
-        assertTrue(missingType.getOutput().contains("DoesNotExist"));
+        assertTrue(missingType.getOutput().contains("DoesNotExist"), missingType.getOutput());
         assertFalse(missingType.getOutput().contains("> Internal compiler error"));
 
         Files.writeString(fxml, """
@@ -57,6 +53,59 @@ class CompilerErrorRecoveryTest {
 
         assertOutcome(corrected, ":processFxml", TaskOutcome.SUCCESS);
         assertOutcome(corrected, ":compileJava", TaskOutcome.SUCCESS);
+        assertOutcome(corrected, ":compileFxml", TaskOutcome.SUCCESS);
+        assertCompiledClass(projectDir.resolve("build/classes/java/main/test/MainViewBase.class"));
+    }
+
+    @Test
+    void failedDocumentKeepsOutputsOfLastSuccessfulBuild() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path sourceDir = projectDir.resolve("src/main/java/test");
+        Path generatedDir = projectDir.resolve("build/generated/sources/fxml/java/main/test");
+        Path descriptorDir = projectDir.resolve("build/fxml/default/main/test");
+
+        Files.writeString(sourceDir.resolve("OtherView.java"), """
+            package test;
+
+            public class OtherView extends OtherViewBase {
+                public OtherView() {
+                    initializeComponent();
+                }
+            }
+        """);
+
+        Files.writeString(sourceDir.resolve("OtherView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.OtherView"/>
+        """);
+
+        build(projectDir, "classes");
+        byte[] otherStub = Files.readAllBytes(generatedDir.resolve("OtherViewBase.java"));
+
+        Files.writeString(sourceDir.resolve("MainView.fxmlx"), "<Pane");
+        runner(projectDir, "classes").buildAndFail();
+
+        assertAll(
+            () -> assertArrayEquals(otherStub, Files.readAllBytes(generatedDir.resolve("OtherViewBase.java"))),
+            () -> assertTrue(Files.isRegularFile(descriptorDir.resolve("OtherViewBase.fxmd"))),
+            () -> assertTrue(Files.isRegularFile(generatedDir.resolve("MainViewBase.java"))),
+            () -> assertTrue(Files.isRegularFile(descriptorDir.resolve("MainViewBase.fxmd"))));
+
+        Files.writeString(sourceDir.resolve("MainView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.MainView"/>
+        """);
+
+        var corrected = build(projectDir, "classes");
+
+        assertOutcome(corrected, ":processFxml", TaskOutcome.SUCCESS);
         assertCompiledClass(projectDir.resolve("build/classes/java/main/test/MainViewBase.class"));
+        assertCompiledClass(projectDir.resolve("build/classes/java/main/test/OtherViewBase.class"));
     }
 }
@@ -0,0 +1,56 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompilerLoggingFunctionalTest {
+
+    private static final Pattern GENERATED = Pattern.compile("Generated 1 FXML class in \\d+\\.\\ds");
+    private static final Pattern COMPILED = Pattern.compile("Compiled 1 FXML class in \\d+\\.\\ds");
+    private static final Pattern STUBS = Pattern.compile("Generated 1 FXML stub in \\d+\\.\\ds");
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void summarizesCompilerMessagesAtLifecycleLevel() throws IOException {
+        copyFixture("lifecycle", projectDir);
+
+        var result = build(projectDir, "classes");
+
+        assertOutcome(result, ":compileFxml", TaskOutcome.SUCCESS);
+        assertTrue(GENERATED.matcher(result.getOutput()).find(), result.getOutput());
+        assertTrue(COMPILED.matcher(result.getOutput()).find(), result.getOutput());
+    }
+
+    @Test
+    void logsCompilerMessagesAtInfoLevel() throws IOException {
+        copyFixture("lifecycle", projectDir);
+
+        var result = build(projectDir, "classes", "--info");
+
+        assertOutcome(result, ":compileFxml", TaskOutcome.SUCCESS);
+        assertTrue(COMPILED.matcher(result.getOutput()).find(), result.getOutput());
+        assertFalse(result.getOutput().contains("run with --info to show them"));
+    }
+
+    @Test
+    void summarizesGeneratedStubs() throws IOException {
+        copyFixture("lifecycle", projectDir);
+
+        var result = build(projectDir, "generateFxmlStubs");
+
+        assertOutcome(result, ":generateFxmlStubs", TaskOutcome.SUCCESS);
+        assertTrue(STUBS.matcher(result.getOutput()).find(), result.getOutput());
+    }
+}
@@ -9,15 +9,24 @@ import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.FileCollectionDependency;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.SourceDirectorySet;
+import org.gradle.api.internal.TaskInternal;
 import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.compile.JavaCompile;
+import org.gradle.api.tasks.javadoc.Javadoc;
 import org.gradle.testfixtures.ProjectBuilder;
+import org.gradle.tooling.provider.model.ToolingModelBuilderRegistry;
+import org.jfxcore.gradle.tasks.CheckFxmlTask;
+import org.jfxcore.gradle.tasks.CompilationGovernor;
+import org.jfxcore.gradle.tasks.CompileFxmlTask;
 import org.jfxcore.gradle.tasks.FxmlSourceInfo;
+import org.jfxcore.gradle.tasks.GenerateFxmlStubsTask;
 import org.jfxcore.gradle.tasks.ProcessFxmlTask;
+import org.jfxcore.gradle.tooling.FxmlModel;
+import org.jfxcore.gradle.tooling.FxmlSourceSetModel;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import java.io.File;
@@ -46,7 +55,32 @@ class CompilerPluginConfigurationTest {
         assertAll(
             () -> assertSame(extension, project.getExtensions().getByName("fxml")),
             () -> assertFalse(extension.getAnnotationProcessing().get()),
-            () -> assertEquals(List.of("fxml"), extension.getSourceFileExtensions().get()));
+            () -> assertEquals(List.of("fxml"), extension.getSourceFileExtensions().get()),
+            () -> assertFalse(extension.getLocalOutputCache().get()),
+            () -> assertEquals(512L, extension.getLocalOutputCacheSize().get()),
+            () -> assertEquals(1, extension.getCompilerThreads().get()),
+            () -> assertFalse(extension.getExplainReruns().get()),
+            () -> assertEquals(Set.of(), extension.getDisabledSourceSets().get()),
+            () -> assertEquals(List.of(), extension.getIncludes().get()),
+            () -> assertEquals(List.of(), extension.getExcludes().get()));
+    }
+
+    @Test
+    void localOutputCacheIsLocatedInGradleUserHomeWhenEnabled() {
+        Project project = configuredProject();
+        CompilerPluginExtension extension = project.getExtensions().getByType(CompilerPluginExtension.class);
+        ProcessFxmlTask task = processTask(project, sourceSets(project).getByName("main"));
+
+        assertFalse(task.getLocalOutputCacheDir().isPresent());
+
+        extension.getLocalOutputCache().set(true);
+        extension.getLocalOutputCacheSize().set(64L);
+
+        assertAll(
+            () -> assertEquals(
+                new File(project.getGradle().getGradleUserHomeDir(), "caches/jfxcore-fxml/outputs"),
+                task.getLocalOutputCacheDir().get().getAsFile()),
+            () -> assertEquals(64L, task.getLocalOutputCacheSize().get()));
     }
 
     @Test
@@ -59,11 +93,111 @@ class CompilerPluginConfigurationTest {
             () -> assertInstanceOf(ProcessFxmlTask.class, project.getTasks().getByName("processFxml")),
             () -> assertInstanceOf(ProcessFxmlTask.class, project.getTasks().getByName("processTestFxml")),
             () -> assertInstanceOf(ProcessFxmlTask.class, project.getTasks().getByName("processIntegrationTestFxml")),
+            () -> assertInstanceOf(CompileFxmlTask.class, project.getTasks().getByName("compileFxml")),
+            () -> assertInstanceOf(CompileFxmlTask.class, project.getTasks().getByName("compileTestFxml")),
+            () -> assertInstanceOf(CompileFxmlTask.class, project.getTasks().getByName("compileIntegrationTestFxml")),
             () -> assertSourceSetLayout(project, sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME)),
             () -> assertSourceSetLayout(project, sourceSets.getByName(SourceSet.TEST_SOURCE_SET_NAME)),
             () -> assertSourceSetLayout(project, custom));
     }
 
+    @Test
+    void registersCheckTasksThatShareTheProcessingInputs() throws IOException {
+        Project project = configuredProject();
+        SourceSet main = sourceSets(project).getByName("main");
+        Path view = write("src/main/java/View.fxml", "fxml");
+        CheckFxmlTask check = (CheckFxmlTask)project.getTasks().getByName("checkFxml");
+
+        assertAll(
+            () -> assertInstanceOf(CheckFxmlTask.class, project.getTasks().getByName("checkTestFxml")),
+            () -> assertEquals(Set.of(view.toFile()), check.getFxmlSourceInfo().get().stream()
+                .flatMap(info -> info.getFxmlFiles().get().getFiles().stream())
+                .collect(Collectors.toSet())),
+            () -> assertEquals(file("build/fxml/check/main/checked-files.txt"), check.getReportFile().get().getAsFile()),
+            () -> assertDoesNotDependOn(check, javaCompile(project, main)),
+            () -> assertDoesNotDependOn(check, processTask(project, main)));
+    }
+
+    @Test
+    void javadocDependsOnStubGenerationInsteadOfProcessing() {
+        Project project = configuredProject();
+        SourceSet main = sourceSets(project).getByName("main");
+        Javadoc javadoc = (Javadoc)project.getTasks().getByName("javadoc");
+        GenerateFxmlStubsTask stubs = (GenerateFxmlStubsTask)project.getTasks().getByName("generateFxmlStubs");
+
+        assertAll(
+            () -> assertInstanceOf(GenerateFxmlStubsTask.class, project.getTasks().getByName("generateTestFxmlStubs")),
+            () -> assertEquals(
+                file("build/generated/sources/fxmlStubs/java/main"), stubs.getGeneratedSourcesDir().get().getAsFile()),
+            () -> assertDependsOn(javadoc, stubs),
+            () -> assertDoesNotDependOn(javadoc, processTask(project, main)),
+            () -> assertDoesNotDependOn(javadoc, javaCompile(project, main)));
+    }
+
+    @Test
+    void buildsToolingModelWithoutExecutingTasks() throws IOException {
+        Project project = project();
+        project.getPluginManager().apply("java");
+        project.getPluginManager().apply(CompilerPlugin.class);
+        CompilerPluginExtension extension = project.getExtensions().getByType(CompilerPluginExtension.class);
+        extension.getAnnotationProcessing().set(true);
+        extension.getIncludes().add("views/**");
+        extension.getExcludes().add("**/Draft*");
+        extension.getDisabledSourceSets().add(SourceSet.TEST_SOURCE_SET_NAME);
+        sourceSets(project).create("integrationTest");
+        ((ProjectInternal)project).evaluate();
+        Path view = write("src/main/java/views/View.fxml", "view");
+        write("src/main/java/views/DraftView.fxml", "draft");
+        write("src/main/java/other/Other.fxml", "other");
+
+        var registry = ((ProjectInternal)project).getServices().get(ToolingModelBuilderRegistry.class);
+        String modelName = FxmlModel.class.getName();
+        var model = (FxmlModel)registry.getBuilder(modelName).buildAll(modelName, project);
+        FxmlSourceSetModel main = model.getSourceSets().stream()
+            .filter(sourceSet -> sourceSet.getName().equals("main"))
+            .findFirst()
+            .orElseThrow();
+
+        assertAll(
+            () -> assertTrue(model.isAnnotationProcessing()),
+            () -> assertEquals(List.of("fxml"), model.getSourceFileExtensions()),
+            () -> assertEquals(List.of("views/**"), model.getIncludes()),
+            () -> assertEquals(List.of("**/Draft*"), model.getExcludes()),
+            () -> assertEquals(Set.of("test"), model.getDisabledSourceSets()),
+            () -> assertEquals(
+                List.of("main", "integrationTest"),
+                model.getSourceSets().stream().map(FxmlSourceSetModel::getName).toList()),
+            () -> assertTrue(main.getSourceDirs().contains(file("src/main/java"))),
+            () -> assertEquals(List.of(view.toFile()), main.getFxmlFiles()),
+            () -> assertFalse(main.getSourceDirs().contains(file("build/generated/sources/fxml/java/main"))),
+            () -> assertEquals(file("build/generated/sources/fxml/java/main"), main.getGeneratedSourcesDir()),
+            () -> assertEquals(
+                List.of(file("build/fxml/default/main"),
+                        file("build/fxml/annotationProcessor/main"),
+                        file("build/fxml/ksp/main")),
+                main.getIntermediateBuildDirs()),
+            () -> assertEquals(file("build/classes/java/main"), main.getClassesDir()),
+            () -> assertTrue(project.getTasks().stream().noneMatch(task -> task.getState().getExecuted())));
+    }
+
+    @Test
+    void fxmlTasksShareBuildWideCompilationGovernor() {
+        Project project = configuredProject();
+        SourceSet main = sourceSets(project).getByName("main");
+        var registration = project.getGradle().getSharedServices().getRegistrations()
+            .getByName(CompilationGovernor.NAME);
+        Object governor = registration.getService().get();
+
+        assertAll(
+            () -> assertFalse(registration.getMaxParallelUsages().isPresent()),
+            () -> assertSame(governor, processTask(project, main).getCompilationGovernor().get()),
+            () -> assertSame(governor, compileFxmlTask(project, main).getCompilationGovernor().get()),
+            () -> assertSame(governor, ((CheckFxmlTask)project.getTasks().getByName("checkFxml"))
+                .getCompilationGovernor().get()),
+            () -> assertSame(governor, ((GenerateFxmlStubsTask)project.getTasks().getByName("generateFxmlStubs"))
+                .getCompilationGovernor().get()));
+    }
+
     @Test
     void configuresSourceSetCreatedAfterFxmlPluginApplication() {
         Project project = configuredProject();
@@ -101,22 +235,45 @@ class CompilerPluginConfigurationTest {
         project.getLayout().getBuildDirectory().set(project.getLayout().getProjectDirectory().dir("out"));
 
         assertAll(
-            () -> assertEquals(file("out/classes/java/main"), task.getClassesDir().get().getAsFile()),
+            () -> assertEquals(file("out/classes/java/main"),
+                compileFxmlTask(project, main).getClassesDir().get().getAsFile()),
+            () -> assertEquals(file("out/fxml/javac/main"), compileJava.getDestinationDirectory().get().getAsFile()),
             () -> assertEquals(file("out/generated/sources/fxml/java/main"), task.getGeneratedSourcesDir().get().getAsFile()),
             () -> assertEquals(file("out/fxml/default/main"), task.getIntermediateBuildDir().get().getAsFile()),
             () -> assertEquals(file("out/fxml/annotationProcessor/main"), arguments.getIntermediateBuildDir().get().getAsFile()));
     }
 
     @Test
-    void classesDirectoryFollowsLateJavaCompileDestinationChange() {
+    void classesDirectoryFollowsLateSourceSetDestinationChange() {
         Project project = configuredProject();
         SourceSet main = sourceSets(project).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
-        ProcessFxmlTask task = processTask(project, main);
-        JavaCompile compileJava = javaCompile(project, main);
+        CompileFxmlTask task = compileFxmlTask(project, main);
+
+        main.getJava().getDestinationDirectory().set(
+            project.getLayout().getProjectDirectory().dir("compiled-elsewhere"));
+
+        assertAll(
+            () -> assertEquals(file("compiled-elsewhere"), task.getClassesDir().get().getAsFile()),
+            () -> assertTrue(main.getOutput().getClassesDirs().getFiles().contains(file("compiled-elsewhere"))));
+    }
 
-        compileJava.getDestinationDirectory().set(project.getLayout().getProjectDirectory().dir("compiled-elsewhere"));
+    @Test
+    void javaCompilationWritesIntermediateClassesThatAreRewrittenByCompileFxml() {
+        Project project = configuredProject();
+        SourceSet main = sourceSets(project).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+        JavaCompile compileJava = javaCompile(project, main);
+        CompileFxmlTask compileFxml = compileFxmlTask(project, main);
 
-        assertEquals(file("compiled-elsewhere"), task.getClassesDir().get().getAsFile());
+        assertAll(
+            () -> assertEquals(Set.of(file("build/fxml/javac/main")), compileFxml.getJavaClassesDirs().getFiles()),
+            () -> assertEquals(
+                Set.of(file("build/fxml/default/main"),
+                       file("build/fxml/annotationProcessor/main"),
+                       file("build/fxml/ksp/main")),
+                compileFxml.getIntermediateBuildDirs().getFiles()),
+            () -> assertFalse(main.getOutput().getClassesDirs().getFiles().contains(file("build/fxml/javac/main"))),
+            () -> assertDependsOn(compileFxml, compileJava),
+            () -> assertDependsOn(project.getTasks().getByName(main.getClassesTaskName()), compileFxml));
     }
 
     @Test
@@ -172,6 +329,52 @@ class CompilerPluginConfigurationTest {
         assertTrue(allFxmlFiles(processTask(project, sourceSets(project).getByName("main"))).isEmpty());
     }
 
+    @Test
+    void appliesIncludeAndExcludePatternsRelativeToSourceRoots() throws IOException {
+        Project project = configuredProject();
+        CompilerPluginExtension extension = project.getExtensions().getByType(CompilerPluginExtension.class);
+        extension.getIncludes().set(List.of("views/**"));
+        extension.getExcludes().set(List.of("**/experimental/**"));
+        Path included = write("src/main/java/views/View.fxml", "included");
+        write("src/main/java/views/experimental/Draft.fxml", "excluded");
+        write("src/main/java/other/Other.fxml", "not included");
+
+        assertEquals(
+            Set.of(included.toFile()),
+            allFxmlFiles(processTask(project, sourceSets(project).getByName("main"))));
+    }
+
+    @Test
+    void disabledSourceSetSkipsFxmlTasksAndAnnotationProcessing() throws IOException {
+        Project project = configuredProject();
+        CompilerPluginExtension extension = project.getExtensions().getByType(CompilerPluginExtension.class);
+        extension.getAnnotationProcessing().set(true);
+        extension.getDisabledSourceSets().add(SourceSet.TEST_SOURCE_SET_NAME);
+        SourceSet main = sourceSets(project).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+        SourceSet test = sourceSets(project).getByName(SourceSet.TEST_SOURCE_SET_NAME);
+        Path mainView = write("src/main/java/View.fxml", "main");
+        write("src/test/java/TestView.fxml", "test");
+
+        Configuration testProcessor = project.getConfigurations()
+            .getByName(test.getAnnotationProcessorConfigurationName());
+
+        assertAll(
+            () -> assertEquals(Set.of(mainView.toFile()), allFxmlFiles(processTask(project, main))),
+            () -> assertTrue(allFxmlFiles(processTask(project, test)).isEmpty()),
+            () -> assertTrue(isEnabled(processTask(project, main))),
+            () -> assertFalse(isEnabled(processTask(project, test))),
+            () -> assertFalse(isEnabled(compileFxmlTask(project, test))),
+            () -> assertTrue(testProcessor.getDependencies().isEmpty()),
+            () -> assertEquals(List.of(), toList(compilerArguments(javaCompile(project, test)).asArguments())),
+            () -> assertFalse(toList(compilerArguments(javaCompile(project, main)).asArguments()).isEmpty()),
+            () -> assertEquals(file("build/classes/java/test"),
+                javaCompile(project, test).getDestinationDirectory().get().getAsFile()),
+            () -> assertEquals(file("build/fxml/javac/main"),
+                javaCompile(project, main).getDestinationDirectory().get().getAsFile()),
+            () -> assertFalse(test.getJava().getSrcDirs().contains(file("build/generated/sources/fxml/java/test"))),
+            () -> assertDoesNotDependOn(javaCompile(project, test), processTask(project, test)));
+    }
+
     @Test
     void excludesGeneratedSourceDirectory() throws IOException {
         Project project = configuredProject();
@@ -335,6 +538,7 @@ class CompilerPluginConfigurationTest {
         Project project = project();
         project.getPluginManager().apply("java");
         project.getPluginManager().apply(CompilerPlugin.class);
+        ((ProjectInternal)project).evaluate();
         return project;
     }
 
@@ -350,6 +554,10 @@ class CompilerPluginConfigurationTest {
         return (ProcessFxmlTask)project.getTasks().getByName(sourceSet.getTaskName("process", "fxml"));
     }
 
+    private static CompileFxmlTask compileFxmlTask(Project project, SourceSet sourceSet) {
+        return (CompileFxmlTask)project.getTasks().getByName(sourceSet.getTaskName("compile", "fxml"));
+    }
+
     private static JavaCompile javaCompile(Project project, SourceSet sourceSet) {
         return (JavaCompile)project.getTasks().getByName(sourceSet.getCompileJavaTaskName());
     }
@@ -367,7 +575,10 @@ class CompilerPluginConfigurationTest {
         String name = sourceSet.getName();
 
         assertAll(
-            () -> assertEquals(file("build/classes/java/" + name), task.getClassesDir().get().getAsFile()),
+            () -> assertEquals(file("build/classes/java/" + name),
+                compileFxmlTask(project, sourceSet).getClassesDir().get().getAsFile()),
+            () -> assertEquals(file("build/fxml/javac/" + name),
+                javaCompile(project, sourceSet).getDestinationDirectory().get().getAsFile()),
             () -> assertEquals(file("build/generated/sources/fxml/java/" + name), task.getGeneratedSourcesDir().get().getAsFile()),
             () -> assertEquals(file("build/fxml/default/" + name), task.getIntermediateBuildDir().get().getAsFile()),
             () -> assertTrue(sourceSet.getJava().getSrcDirs().contains(task.getGeneratedSourcesDir().get().getAsFile())),
@@ -385,6 +596,10 @@ class CompilerPluginConfigurationTest {
             () -> task.getPath() + " unexpectedly depends on " + unexpectedDependency.getPath());
     }
 
+    private static boolean isEnabled(org.gradle.api.Task task) {
+        return ((TaskInternal)task).getOnlyIf().isSatisfiedBy((TaskInternal)task);
+    }
+
     private static Set<File> allFxmlFiles(ProcessFxmlTask task) {
         return task.getFxmlSourceInfo().get().stream()
             .map(FxmlSourceInfo::getFxmlFiles)
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.jar.JarFile;
 
 import static org.jfxcore.gradle.TestProject.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +26,7 @@ public class CompilerPluginTest {
         assertOutcome(result, ":compileJava", TaskOutcome.SUCCESS);
         assertOutcome(result, ":processIntegrationTestFxml", TaskOutcome.SUCCESS);
         assertOutcome(result, ":compileIntegrationTestJava", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":compileIntegrationTestFxml", TaskOutcome.SUCCESS);
         assertGeneratedArtifacts(projectDir, "main", "org/example/MainViewBase");
         assertGeneratedArtifacts(projectDir, "integrationTest", "org/example/IntegrationViewBase");
     }
@@ -40,6 +42,73 @@ public class CompilerPluginTest {
         assertGeneratedArtifacts(projectDir, "main", "org/example/MainViewBase");
     }
 
+    @Test
+    void modularProjectPrunesModulesOutsideOfModuleGraphFromSearchPath(@TempDir Path projectDir) throws IOException {
+        copyFixture("modular", projectDir);
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+
+        // javafx.media is on the compile classpath, but not required by the module declaration.
+        Files.writeString(buildScript, Files.readString(buildScript).replace(
+            "modules(\"javafx.controls\")", "modules(\"javafx.controls\", \"javafx.media\")") + """
+
+            tasks.register("printSearchPath") {
+                val searchPath = files(tasks.named<org.jfxcore.gradle.tasks.ProcessFxmlTask>("processFxml")
+                    .flatMap { it.searchPath })
+                doLast {
+                    searchPath.forEach { println("search path entry: " + it.name) }
+                }
+            }
+            """);
+
+        var result = build(projectDir, "printSearchPath", "classes");
+
+        assertOutcome(result, ":compileJava", TaskOutcome.SUCCESS);
+        assertTrue(result.getOutput().contains("search path entry: javafx-controls-"), result.getOutput());
+        assertTrue(result.getOutput().contains("search path entry: javafx-graphics-"), result.getOutput());
+        assertFalse(result.getOutput().contains("search path entry: javafx-media-"), result.getOutput());
+        assertGeneratedArtifacts(projectDir, "main", "org/example/MainViewBase");
+    }
+
+    @Test
+    void jarContainsResourcesAndRewrittenClasses(@TempDir Path projectDir) throws IOException {
+        copyFixture("resources", projectDir);
+
+        var result = build(projectDir, "jar");
+
+        assertOutcome(result, ":processResources", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":compileFxml", TaskOutcome.SUCCESS);
+        assertFalse(result.getOutput().contains("implicit dependency"), result.getOutput());
+
+        Path classesDir = projectDir.resolve("build/classes/java/main");
+        Path jarFile = projectDir.resolve("build/libs/resources-functional-test.jar");
+
+        try (var jar = new JarFile(jarFile.toFile())) {
+            assertNotNull(jar.getEntry("test/style.css"));
+            assertNotNull(jar.getEntry("test/MainView.class"));
+
+            byte[] compiledClass = Files.readAllBytes(classesDir.resolve("test/MainViewBase.class"));
+
+            try (var entry = jar.getInputStream(jar.getEntry("test/MainViewBase.class"))) {
+                assertArrayEquals(compiledClass, entry.readAllBytes());
+            }
+        }
+
+        assertCompiledClass(classesDir.resolve("test/MainViewBase.class"));
+    }
+
+    @Test
+    void groovySourcesCompileAgainstRewrittenClasses(@TempDir Path projectDir) throws IOException {
+        copyFixture("groovy", projectDir);
+
+        var result = build(projectDir, "classes");
+
+        assertOutcome(result, ":compileJava", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":compileFxml", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":compileGroovy", TaskOutcome.SUCCESS);
+        assertCompiledClass(projectDir.resolve("build/classes/java/main/test/MainViewBase.class"));
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/classes/groovy/main/test/GroovyView.class")));
+    }
+
     private static void assertGeneratedArtifacts(Path projectDir, String sourceSet, String relativeName) {
         Path generatedSource = projectDir.resolve("build/generated/sources/fxml/java/" + sourceSet + "/" + relativeName + ".java");
         Path descriptor = projectDir.resolve("build/fxml/default/" + sourceSet + "/" + relativeName + ".fxmd");
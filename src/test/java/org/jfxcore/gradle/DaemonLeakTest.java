@@ -0,0 +1,96 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs many incremental builds in the same TestKit daemon, and verifies that repeated FXML processing and
+ * bytecode rewriting do not leak classes or metaspace. Each build edits the FXML document, so that processFxml
+ * and compileFxml create new compiler runners instead of being skipped.
+ */
+@Tag("leak")
+class DaemonLeakTest {
+
+    private static final int WARMUP_BUILDS = 50;
+    private static final int MEASURED_BUILDS = 200;
+    private static final long MAX_CLASS_GROWTH = 1000;
+    private static final long MAX_METASPACE_GROWTH = 24L * 1024 * 1024;
+    private static final Pattern MEMORY_REPORT = Pattern.compile("fxml-memory metaspace=(\\d+) classes=(\\d+)");
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void repeatedBuildsKeepMetaspaceAndLoadedClassesBounded() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+        Files.writeString(buildScript, Files.readString(buildScript) + """
+
+            tasks.register("reportMemory") {
+                mustRunAfter("classes")
+                doLast {
+                    repeat(3) { System.gc() }
+                    val metaspace = java.lang.management.ManagementFactory.getMemoryPoolMXBeans()
+                        .filter { it.name == "Metaspace" }
+                        .sumOf { it.usage.used }
+                    val classes = java.lang.management.ManagementFactory.getClassLoadingMXBean().loadedClassCount
+                    println("fxml-memory metaspace=$metaspace classes=$classes")
+                }
+            }
+            """);
+
+        int iteration = 0;
+
+        for (; iteration < WARMUP_BUILDS; ++iteration) {
+            incrementalBuild(iteration);
+        }
+
+        MemoryReport baseline = incrementalBuild(iteration++);
+
+        for (int i = 0; i < MEASURED_BUILDS; ++i) {
+            incrementalBuild(iteration++);
+        }
+
+        MemoryReport last = incrementalBuild(iteration);
+
+        assertTrue(last.classes() - baseline.classes() <= MAX_CLASS_GROWTH,
+            () -> "Loaded classes grew from " + baseline.classes() + " to " + last.classes());
+
+        assertTrue(last.metaspace() - baseline.metaspace() <= MAX_METASPACE_GROWTH,
+            () -> "Metaspace grew from " + baseline.metaspace() + " to " + last.metaspace());
+    }
+
+    private MemoryReport incrementalBuild(int iteration) throws IOException {
+        Files.writeString(projectDir.resolve("src/main/java/test/MainView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.MainView"
+                  prefWidth="%d"/>
+        """.formatted(iteration + 1));
+
+        BuildResult result = build(projectDir, "classes", "reportMemory");
+        assertOutcome(result, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":compileFxml", TaskOutcome.SUCCESS);
+
+        var matcher = MEMORY_REPORT.matcher(result.getOutput());
+        assertTrue(matcher.find(), "No memory report in build output");
+        return new MemoryReport(Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)));
+    }
+
+    private record MemoryReport(long metaspace, long classes) {}
+}
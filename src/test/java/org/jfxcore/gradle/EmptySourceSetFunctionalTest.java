@@ -0,0 +1,76 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmptySourceSetFunctionalTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void sourceSetWithoutFxmlFilesSkipsGeneratorAndCompiler() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path testSource = projectDir.resolve("src/test/java/test/AppTest.java");
+        Files.createDirectories(testSource.getParent());
+        Files.writeString(testSource, "package test; class AppTest {}");
+
+        var result = build(projectDir, "testClasses", "--info");
+
+        assertOutcome(result, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":processTestFxml", TaskOutcome.UP_TO_DATE);
+        assertOutcome(result, ":compileTestJava", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":compileTestFxml", TaskOutcome.SUCCESS);
+        assertTrue(result.getOutput().contains("Skipping FXML processing, source set contains no FXML files"));
+        assertFalse(Files.exists(projectDir.resolve("build/fxml/compilation-times/test.txt")));
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/classes/java/test/test/AppTest.class")));
+        assertTrue(isEmptyDirectory(projectDir.resolve("build/generated/sources/fxml/java/test")));
+    }
+
+    @Test
+    void removingLastFxmlFileDeletesOutputsWithoutCreatingRunners() throws IOException {
+        copyFixture("lifecycle", projectDir);
+
+        var initial = build(projectDir, "classes");
+
+        assertOutcome(initial, ":processFxml", TaskOutcome.SUCCESS);
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/fxml/default/main/test/MainViewBase.fxmd")));
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/classes/java/main/test/MainViewBase.class")));
+
+        Files.delete(projectDir.resolve("src/main/java/test/MainView.fxmlx"));
+        Files.delete(projectDir.resolve("src/main/java/test/MainView.java"));
+
+        var removed = build(projectDir, "classes", "--info");
+
+        assertOutcome(removed, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(removed, ":compileJava", TaskOutcome.SUCCESS);
+        assertOutcome(removed, ":compileFxml", TaskOutcome.SUCCESS);
+        assertTrue(removed.getOutput().contains("Skipping FXML processing, source set contains no FXML files"));
+        assertFalse(removed.getOutput().contains("FXML class"));
+        assertTrue(isEmptyDirectory(projectDir.resolve("build/generated/sources/fxml/java/main")));
+        assertTrue(isEmptyDirectory(projectDir.resolve("build/fxml/default/main")));
+        assertFalse(Files.exists(projectDir.resolve("build/classes/java/main/test/MainViewBase.class")));
+
+        var repeated = build(projectDir, "classes");
+
+        assertOutcome(repeated, ":processFxml", TaskOutcome.UP_TO_DATE);
+        assertOutcome(repeated, ":compileJava", TaskOutcome.UP_TO_DATE);
+        assertOutcome(repeated, ":compileFxml", TaskOutcome.UP_TO_DATE);
+    }
+
+    private static boolean isEmptyDirectory(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.findAny().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxmlReloadAgentTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void agentRedefinesClassesOfRunningApplication() throws Exception {
+        Path classesDir = compile("v1", "Greeter", greeterSource("v1"), "Main", """
+            public class Main {
+                public static void main(String[] args) throws Exception {
+                    long deadline = System.currentTimeMillis() + 30000;
+                    while (System.currentTimeMillis() < deadline) {
+                        String greeting = new Greeter().greet();
+                        System.out.println(greeting);
+                        if (greeting.equals("v2")) {
+                            return;
+                        }
+                        Thread.sleep(100);
+                    }
+                    System.exit(1);
+                }
+            }
+            """);
+
+        Path updatedClassesDir = compile("v2", "Greeter", greeterSource("v2"));
+        Path reloadDir = Files.createDirectories(tempDir.resolve("reload"));
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+
+        Process process = new ProcessBuilder(
+                java.toString(), "-javaagent:" + pluginJar() + "=" + reloadDir,
+                "-cp", classesDir.toString(), "Main")
+            .redirectErrorStream(true)
+            .start();
+
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            assertEquals("v1", reader.readLine());
+
+            Files.writeString(reloadDir.resolve("reload-request.txt"),
+                "Greeter\t" + updatedClassesDir.resolve("Greeter.class") + "\n");
+
+            String line;
+            boolean reloaded = false;
+            while ((line = reader.readLine()) != null) {
+                reloaded |= line.equals("v2");
+            }
+
+            assertTrue(reloaded);
+        } finally {
+            assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+            process.destroyForcibly();
+        }
+
+        assertEquals(0, process.exitValue());
+    }
+
+    private Path compile(String name, String... classes) throws IOException {
+        Path sourceDir = Files.createDirectories(tempDir.resolve(name + "-src"));
+        Path classesDir = Files.createDirectories(tempDir.resolve(name + "-classes"));
+
+        for (int i = 0; i < classes.length; i += 2) {
+            Files.writeString(sourceDir.resolve(classes[i] + ".java"), classes[i + 1]);
+        }
+
+        try (var files = Files.list(sourceDir)) {
+            String[] arguments = files.map(Path::toString).toArray(String[]::new);
+            String[] allArguments = new String[arguments.length + 2];
+            allArguments[0] = "-d";
+            allArguments[1] = classesDir.toString();
+            System.arraycopy(arguments, 0, allArguments, 2, arguments.length);
+            assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, allArguments));
+        }
+
+        return classesDir;
+    }
+
+    private static String greeterSource(String greeting) {
+        return """
+            public class Greeter {
+                public String greet() {
+                    return "%s";
+                }
+            }
+            """.formatted(greeting);
+    }
+
+    private static Path pluginJar() throws IOException {
+        try (var files = Files.list(Path.of("build", "libs"))) {
+            return files
+                .filter(file -> file.getFileName().toString().startsWith("fxml-gradle-plugin"))
+                .filter(file -> !file.getFileName().toString().endsWith("-sources.jar"))
+                .filter(file -> !file.getFileName().toString().endsWith("-javadoc.jar"))
+                .findFirst()
+                .orElseThrow()
+                .toAbsolutePath();
+        }
+    }
+}
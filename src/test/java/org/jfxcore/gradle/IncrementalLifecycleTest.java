@@ -34,6 +34,7 @@ class IncrementalLifecycleTest {
         BuildResult unchanged = build(projectDir, "classes");
         assertOutcome(unchanged, ":processFxml", TaskOutcome.UP_TO_DATE);
         assertOutcome(unchanged, ":compileJava", TaskOutcome.UP_TO_DATE);
+        assertOutcome(unchanged, ":compileFxml", TaskOutcome.UP_TO_DATE);
         assertConfigurationCacheReused(unchanged);
 
         byte[] firstDescriptor = Files.readAllBytes(paths.descriptor("MainViewBase"));
@@ -47,7 +48,9 @@ class IncrementalLifecycleTest {
         """);
 
         BuildResult edited = build(projectDir, "classes");
-        assertExecuted(edited);
+        assertOutcome(edited, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(edited, ":compileJava", TaskOutcome.UP_TO_DATE);
+        assertOutcome(edited, ":compileFxml", TaskOutcome.SUCCESS);
         assertConfigurationCacheReused(edited);
         assertFalse(Arrays.equals(firstDescriptor, Files.readAllBytes(paths.descriptor("MainViewBase"))));
         assertCompiledClass(paths.compiled("MainViewBase"));
@@ -107,6 +110,7 @@ class IncrementalLifecycleTest {
         BuildResult deleted = build(projectDir, "classes");
         assertOutcome(deleted, ":processFxml", TaskOutcome.SUCCESS);
         assertOutcome(deleted, ":compileJava", TaskOutcome.FROM_CACHE);
+        assertOutcome(deleted, ":compileFxml", TaskOutcome.FROM_CACHE);
         assertConfigurationCacheReused(deleted);
         assertMissingOutputs(paths, "RenamedView");
 
@@ -144,6 +148,7 @@ class IncrementalLifecycleTest {
 
         assertOutcome(restored, ":processFxml", TaskOutcome.SUCCESS);
         assertOutcome(restored, ":compileJava", TaskOutcome.FROM_CACHE);
+        assertOutcome(restored, ":compileFxml", TaskOutcome.FROM_CACHE);
         assertCompiledClass(paths.compiled("MainViewBase"));
 
         byte[] compiledFxmlClass = Files.readAllBytes(paths.compiled("MainViewBase"));
@@ -160,6 +165,7 @@ class IncrementalLifecycleTest {
         BuildResult javaEdit = build(projectDir, "classes");
         assertOutcome(javaEdit, ":processFxml", TaskOutcome.UP_TO_DATE);
         assertOutcome(javaEdit, ":compileJava", TaskOutcome.SUCCESS);
+        assertOutcome(javaEdit, ":compileFxml", TaskOutcome.SUCCESS);
         assertArrayEquals(compiledFxmlClass, Files.readAllBytes(paths.compiled("MainViewBase")));
 
         Files.delete(paths.source("MainView.java"));
@@ -170,9 +176,43 @@ class IncrementalLifecycleTest {
         assertMissingOutputs(paths, "MainView");
     }
 
+    @Test
+    void markupEditRewritesClassesWithoutRecompilingJava() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Paths paths = new Paths(projectDir);
+
+        build(projectDir, "classes");
+        byte[] javacClass = Files.readAllBytes(paths.javacOutput("MainViewBase"));
+        byte[] compiledClass = Files.readAllBytes(paths.compiled("MainViewBase"));
+        byte[] appClass = Files.readAllBytes(paths.compiled("App"));
+
+        Files.writeString(paths.source("MainView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.MainView"
+                  prefWidth="456"/>
+        """);
+
+        BuildResult edited = build(projectDir, "classes");
+        assertOutcome(edited, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(edited, ":compileJava", TaskOutcome.UP_TO_DATE);
+        assertOutcome(edited, ":compileFxml", TaskOutcome.SUCCESS);
+        assertArrayEquals(javacClass, Files.readAllBytes(paths.javacOutput("MainViewBase")));
+        assertArrayEquals(appClass, Files.readAllBytes(paths.compiled("App")));
+        assertFalse(Arrays.equals(compiledClass, Files.readAllBytes(paths.compiled("MainViewBase"))));
+        assertCompiledClass(paths.compiled("MainViewBase"));
+
+        BuildResult rerun = build(projectDir, "classes", "--rerun-tasks");
+        assertExecuted(rerun);
+        assertCompiledClass(paths.compiled("MainViewBase"));
+    }
+
     private static void assertExecuted(BuildResult result) {
         assertOutcome(result, ":processFxml", TaskOutcome.SUCCESS);
         assertOutcome(result, ":compileJava", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":compileFxml", TaskOutcome.SUCCESS);
     }
 
     private static long countRegularFiles(Path directory) throws IOException {
@@ -224,6 +264,10 @@ class IncrementalLifecycleTest {
             return projectDir.resolve("build/fxml/default/main/test").resolve(name + ".fxmd");
         }
 
+        Path javacOutput(String name) {
+            return projectDir.resolve("build/fxml/javac/main/test").resolve(name + ".class");
+        }
+
         Path compiled(String name) {
             return projectDir.resolve("build/classes/java/main/test").resolve(name + ".class");
         }
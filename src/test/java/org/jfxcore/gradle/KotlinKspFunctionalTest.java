@@ -41,6 +41,37 @@ class KotlinKspFunctionalTest {
         assertSuccessfulKspBuild(fxmlFirst);
     }
 
+    @Test
+    void deletedKotlinComponentViewRemovesOnlyItsOwnDescriptor() throws IOException {
+        copyFixture("kotlin-ksp", projectDir);
+        Path otherView = projectDir.resolve("src/main/kotlin/test/OtherView.kt");
+        Files.writeString(otherView, """
+            package test
+
+            import javafx.scene.layout.Pane
+            import org.jfxcore.markup.ComponentView
+
+            @ComponentView("<Pane/>")
+            class OtherView : OtherViewBase() {
+                init {
+                    initializeComponent()
+                }
+            }
+            """);
+
+        build(projectDir, "classes");
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/fxml/ksp/main/test/OtherViewBase.fxmd")));
+
+        Files.delete(otherView);
+        BuildResult deleted = build(projectDir, "classes");
+
+        assertOutcome(deleted, ":kspKotlin", TaskOutcome.SUCCESS);
+        assertFalse(Files.exists(projectDir.resolve("build/fxml/ksp/main/test/OtherViewBase.fxmd")));
+        assertFalse(Files.exists(projectDir.resolve("build/classes/java/main/test/OtherViewBase.class")));
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/fxml/ksp/main/test/KotlinViewBase.fxmd")));
+        assertCompiledClass(projectDir.resolve("build/classes/java/main/test/KotlinViewBase.class"));
+    }
+
     @Test
     void kotlinWarningIsConditional() throws IOException {
         copyFixture("kotlin-warning", projectDir);
@@ -74,6 +105,7 @@ class KotlinKspFunctionalTest {
         assertOutcome(result, ":processFxml", TaskOutcome.SUCCESS);
         assertOutcome(result, ":kspKotlin", TaskOutcome.SUCCESS);
         assertOutcome(result, ":compileJava", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":compileFxml", TaskOutcome.SUCCESS);
         assertTrue(taskIndex(result, ":processFxml") < taskIndex(result, ":kspKotlin"));
         assertTrue(taskIndex(result, ":kspKotlin") < taskIndex(result, ":compileJava"));
         assertFalse(result.getOutput().contains(WARNING));
@@ -0,0 +1,68 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalOutputCacheFunctionalTest {
+
+    private static final String RESTORED = "Restored FXML outputs from local output cache";
+
+    @TempDir
+    Path firstWorktree;
+
+    @TempDir
+    Path secondWorktree;
+
+    @Test
+    void outputsAreReusedAcrossWorktrees() throws IOException {
+        copyFixture("lifecycle", firstWorktree);
+        copyFixture("lifecycle", secondWorktree);
+        enableLocalOutputCache(firstWorktree);
+        enableLocalOutputCache(secondWorktree);
+
+        BuildResult first = build(firstWorktree, "classes", "--info");
+        assertOutcome(first, ":processFxml", TaskOutcome.SUCCESS);
+        assertCompiledClass(firstWorktree.resolve("build/classes/java/main/test/MainViewBase.class"));
+
+        BuildResult second = build(secondWorktree, "classes", "--info");
+        assertOutcome(second, ":processFxml", TaskOutcome.SUCCESS);
+        assertTrue(second.getOutput().contains(RESTORED), second.getOutput());
+        assertCompiledClass(secondWorktree.resolve("build/classes/java/main/test/MainViewBase.class"));
+
+        assertArrayEquals(
+            Files.readAllBytes(firstWorktree.resolve("build/fxml/default/main/test/MainViewBase.fxmd")),
+            Files.readAllBytes(secondWorktree.resolve("build/fxml/default/main/test/MainViewBase.fxmd")));
+
+        Files.writeString(secondWorktree.resolve("src/main/java/test/MainView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.MainView"
+                  prefWidth="%d"/>
+        """.formatted(System.nanoTime() % 1000));
+
+        BuildResult edited = build(secondWorktree, "classes", "--info");
+        assertOutcome(edited, ":processFxml", TaskOutcome.SUCCESS);
+        assertFalse(edited.getOutput().contains(RESTORED));
+        assertCompiledClass(secondWorktree.resolve("build/classes/java/main/test/MainViewBase.class"));
+    }
+
+    private static void enableLocalOutputCache(Path projectDir) throws IOException {
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+        Files.writeString(buildScript, Files.readString(buildScript).replace(
+            "sourceFileExtensions = listOf(\"fxmlx\")",
+            "sourceFileExtensions = listOf(\"fxmlx\")\n    localOutputCache = true"));
+    }
+}
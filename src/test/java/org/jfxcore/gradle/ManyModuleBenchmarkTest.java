@@ -0,0 +1,151 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the overhead of the plugin in a build with many modules that don't contain FXML documents, which is
+ * the common case in large builds. Each module has a Java class and a dependency on the previous module, so that
+ * the search path grows with the number of modules.
+ * <p>
+ * The same build is also run without the plugin, and the two builds alternate in the same daemon. The benchmark
+ * reports the difference between the builds, both for a clean build and for an incremental build that edits a
+ * Java class in every module. This difference is the cost of the FXML tasks and of copying the compiled classes
+ * through compileFxml, independent of the time Gradle and javac take to build the modules.
+ */
+@Tag("benchmark")
+class ManyModuleBenchmarkTest {
+
+    private static final int MODULES = 100;
+    private static final int MEASURED_BUILDS = 5;
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void modulesWithoutFxmlFilesDoNotCreateCompilerRunners() throws IOException {
+        Path baselineDir = projectDir.resolve("baseline");
+        Path pluginDir = projectDir.resolve("plugin");
+        writeProject(baselineDir, false);
+        writeProject(pluginDir, true);
+
+        // Both builds run in the same daemon, which is warmed up before the first measurement.
+        build(baselineDir, "help");
+        build(pluginDir, "help");
+
+        long start = System.nanoTime();
+        build(baselineDir, "classes", "--info");
+        long baselineCleanMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        BuildResult clean = build(pluginDir, "classes", "--info");
+        long cleanMillis = (System.nanoTime() - start) / 1_000_000;
+
+        for (int i = 0; i < MODULES; ++i) {
+            assertOutcome(clean, ":module" + i + ":processFxml", TaskOutcome.UP_TO_DATE);
+            assertOutcome(clean, ":module" + i + ":compileJava", TaskOutcome.SUCCESS);
+        }
+
+        assertEquals(MODULES, count(clean.getOutput(), "Skipping FXML processing"));
+
+        long baselineIncrementalMillis = 0;
+        long incrementalMillis = 0;
+
+        for (int build = 1; build <= MEASURED_BUILDS; ++build) {
+            for (int i = 0; i < MODULES; ++i) {
+                writeSource(baselineDir, i, build);
+                writeSource(pluginDir, i, build);
+            }
+
+            start = System.nanoTime();
+            build(baselineDir, "classes");
+            baselineIncrementalMillis += (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            BuildResult incremental = build(pluginDir, "classes");
+            incrementalMillis += (System.nanoTime() - start) / 1_000_000;
+
+            assertOutcome(incremental, ":module0:processFxml", TaskOutcome.UP_TO_DATE);
+            assertOutcome(incremental, ":module0:compileJava", TaskOutcome.SUCCESS);
+        }
+
+        baselineIncrementalMillis /= MEASURED_BUILDS;
+        incrementalMillis /= MEASURED_BUILDS;
+
+        System.out.printf(
+            "fxml-benchmark modules=%d clean overhead=%+dms (%dms vs. %dms without plugin) "
+                + "incremental overhead=%+dms (%dms vs. %dms without plugin)%n",
+            MODULES,
+            cleanMillis - baselineCleanMillis, cleanMillis, baselineCleanMillis,
+            incrementalMillis - baselineIncrementalMillis, incrementalMillis, baselineIncrementalMillis);
+    }
+
+    private static void writeProject(Path dir, boolean applyPlugin) throws IOException {
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("settings.gradle.kts"), """
+            rootProject.name = "many-module-benchmark"
+            include(%s)
+            """.formatted(IntStream.range(0, MODULES)
+                .mapToObj(i -> "\"module" + i + "\"")
+                .collect(Collectors.joining(", "))));
+
+        Files.writeString(dir.resolve("gradle.properties"), "org.gradle.parallel=true\n");
+
+        for (int i = 0; i < MODULES; ++i) {
+            Path moduleDir = dir.resolve("module" + i);
+            Files.createDirectories(moduleDir);
+            Files.writeString(moduleDir.resolve("build.gradle.kts"), """
+                plugins {
+                    `java-library`
+                    %s
+                }
+
+                dependencies {
+                    %s
+                }
+                """.formatted(
+                    applyPlugin ? "id(\"org.jfxcore.fxmlplugin\")" : "",
+                    i > 0 ? "api(project(\":module" + (i - 1) + "\"))" : ""));
+
+            writeSource(dir, i, 0);
+        }
+    }
+
+    private static void writeSource(Path dir, int module, int revision) throws IOException {
+        Path sourceFile = dir.resolve("module" + module + "/src/main/java/module" + module + "/Type.java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.writeString(sourceFile, """
+            package module%d;
+
+            public class Type {
+                public int revision() {
+                    return %d;
+                }
+            }
+            """.formatted(module, revision));
+    }
+
+    private static int count(String text, String substring) {
+        int count = 0;
+
+        for (int index = text.indexOf(substring); index >= 0; index = text.indexOf(substring, index + 1)) {
+            ++count;
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,159 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModuleGraphFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parsesRequiredModulesAndIgnoresComments() {
+        List<String> modules = ModuleGraphFilter.parseRequiredModules("""
+            // requires commented.line;
+            module org.example {
+                /* requires commented.block;
+                   requires commented.block2; */
+                requires transitive javafx.controls;
+                requires static org.example.optional ;
+                requires
+                    java.sql;
+                exports org.example;
+            }
+            """);
+
+        assertEquals(List.of("javafx.controls", "org.example.optional", "java.sql"), modules);
+    }
+
+    @Test
+    void selectsModulesOfModuleGraphAndRetainsNonModularEntries() throws IOException {
+        File base = module("test.base");
+        File app = module("test.app", "test.base");
+        File unrelated = module("test.unrelated");
+        File resources = Files.createDirectories(tempDir.resolve("resources")).toFile();
+
+        Set<File> selection = ModuleGraphFilter.select(Set.of(base, app, unrelated, resources), List.of("test.app"));
+
+        assertEquals(Set.of(base, app, resources), selection);
+    }
+
+    @Test
+    void resolvingAnAutomaticModuleSelectsAllAutomaticModules() throws IOException {
+        File first = automaticModule("first-1.0.jar");
+        File second = automaticModule("second-1.0.jar");
+        File unrelated = module("test.unrelated");
+
+        Set<File> selection = ModuleGraphFilter.select(Set.of(first, second, unrelated), List.of("first"));
+
+        assertEquals(Set.of(first, second), selection);
+    }
+
+    @Test
+    void duplicateModuleNamesDisablePruning() throws IOException {
+        File first = module("test.duplicate");
+        File second = automaticModule("test.duplicate.jar");
+
+        assertNull(ModuleGraphFilter.select(Set.of(first, second), List.of("test.duplicate")));
+    }
+
+    @Test
+    void unresolvableModuleGraphDisablesPruning() throws IOException {
+        File app = module("test.app");
+
+        assertNull(ModuleGraphFilter.select(Set.of(app), List.of("test.app", "test.missing")));
+    }
+
+    @Test
+    void nonModularSourceSetDisablesPruning() throws IOException {
+        File app = module("test.app");
+
+        assertNull(ModuleGraphFilter.select(Set.of(app), null));
+    }
+
+    @Test
+    void transformPreservesClasspathOrderAndResolvesTheModuleGraphOnce() throws IOException {
+        File unrelated = module("test.unrelated");
+        File base = module("test.base");
+        File app = module("test.app", "test.base");
+        Path sourceDir = Files.createDirectories(tempDir.resolve("src"));
+        Files.writeString(sourceDir.resolve("module-info.java"), "module test.main { requires test.app; }");
+
+        var filter = new ModuleGraphFilter(ProjectBuilder.builder().build().files(sourceDir.toFile()));
+        Set<FileSystemLocation> elements = new LinkedHashSet<>();
+
+        for (File file : List.of(app, unrelated, base)) {
+            elements.add(() -> file);
+        }
+
+        List<File> selection = filter.transform(elements);
+        assertEquals(List.of(app, base), selection);
+
+        // The selection is reused as long as the classpath does not change.
+        Files.writeString(sourceDir.resolve("module-info.java"), "module test.main { requires test.unrelated; }");
+        assertSame(selection, filter.transform(elements));
+    }
+
+    /**
+     * Compiles an exploded module that only contains a module declaration.
+     */
+    private File module(String name, String... requires) throws IOException {
+        Path sourceFile = tempDir.resolve("sources/" + name + "/module-info.java");
+        Path classesDir = Files.createDirectories(tempDir.resolve("classes/" + name));
+        Path modulesDir = Files.createDirectories(tempDir.resolve("modules"));
+        StringBuilder declaration = new StringBuilder("module ").append(name).append(" {");
+
+        for (String module : requires) {
+            declaration.append(" requires ").append(module).append(";");
+        }
+
+        Files.createDirectories(sourceFile.getParent());
+        Files.writeString(sourceFile, declaration.append(" }").toString());
+
+        int result = ToolProvider.getSystemJavaCompiler().run(
+            null, null, null,
+            "--module-path", modulesDir.toString(),
+            "-d", classesDir.toString(),
+            sourceFile.toString());
+
+        assertEquals(0, result, () -> "Failed to compile " + sourceFile);
+        return Files.move(classesDir, modulesDir.resolve(name)).toFile();
+    }
+
+    /**
+     * Creates a jar file without a module declaration, whose module name is derived from its file name.
+     */
+    private File automaticModule(String fileName) throws IOException {
+        Path jarFile = tempDir.resolve("jars/" + fileName);
+        Files.createDirectories(jarFile.getParent());
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+
+        try (OutputStream output = Files.newOutputStream(jarFile);
+             JarOutputStream jar = new JarOutputStream(output, manifest)) {
+            jar.putNextEntry(new ZipEntry("resource.txt"));
+            jar.closeEntry();
+        }
+
+        return jarFile.toFile();
+    }
+}
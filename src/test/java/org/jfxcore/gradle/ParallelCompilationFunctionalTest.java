@@ -0,0 +1,122 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCompilationFunctionalTest {
+
+    private static final int VIEW_COUNT = 8;
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void parallelRewriteProducesTheSameClassFilesAsSerialRewrite() throws IOException {
+        copyFixture("lifecycle", projectDir);
+
+        for (int i = 0; i < VIEW_COUNT; ++i) {
+            writeView(i, """
+                <Pane xmlns="http://javafx.com/javafx"
+                      xmlns:fx="http://jfxcore.org/fxml/2.0"
+                      fx:subclass="test.View%d"
+                      prefWidth="%d"/>
+            """.formatted(i, 100 + i));
+        }
+
+        assertParallelRewriteMatchesSerialRewrite();
+    }
+
+    @Test
+    void parallelRewriteOfViewsThatReferToEachOtherMatchesSerialRewrite() throws IOException {
+        copyFixture("lifecycle", projectDir);
+
+        // Each view contains the next one, so runners read the classes of views that other runners rewrite.
+        for (int i = 0; i < VIEW_COUNT; ++i) {
+            String child = i + 1 < VIEW_COUNT ? "<View%d/>".formatted(i + 1) : "<Label text=\"last\"/>";
+
+            writeView(i, """
+                <Pane xmlns="http://javafx.com/javafx"
+                      xmlns:fx="http://jfxcore.org/fxml/2.0"
+                      fx:subclass="test.View%d"
+                      prefWidth="%d">
+                    %s
+                </Pane>
+            """.formatted(i, 100 + i, child));
+        }
+
+        assertParallelRewriteMatchesSerialRewrite();
+    }
+
+    private void writeView(int index, String markup) throws IOException {
+        Path sourceDir = projectDir.resolve("src/main/java/test");
+
+        Files.writeString(sourceDir.resolve("View" + index + ".java"), """
+            package test;
+
+            public class View%1$d extends View%1$dBase {
+                public View%1$d() {
+                    initializeComponent();
+                }
+            }
+        """.formatted(index));
+
+        Files.writeString(sourceDir.resolve("View" + index + ".fxmlx"), """
+            <?import javafx.scene.control.*?>
+            <?import javafx.scene.layout.*?>
+            <?import test.*?>
+
+        """ + markup);
+    }
+
+    private void assertParallelRewriteMatchesSerialRewrite() throws IOException {
+        var serial = build(projectDir, "classes");
+        assertOutcome(serial, ":compileFxml", TaskOutcome.SUCCESS);
+        Map<String, byte[]> serialClasses = readClasses();
+
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+        Files.writeString(buildScript, Files.readString(buildScript).replace(
+            "sourceFileExtensions = listOf(\"fxmlx\")",
+            "sourceFileExtensions = listOf(\"fxmlx\")\n    compilerThreads = 4"));
+
+        var parallel = build(projectDir, "classes", "--rerun-tasks");
+        assertOutcome(parallel, ":compileFxml", TaskOutcome.SUCCESS);
+        Map<String, byte[]> parallelClasses = readClasses();
+
+        assertEquals(serialClasses.keySet(), parallelClasses.keySet());
+
+        for (String className : serialClasses.keySet()) {
+            assertArrayEquals(serialClasses.get(className), parallelClasses.get(className), className);
+        }
+
+        for (int i = 0; i < VIEW_COUNT; ++i) {
+            assertCompiledClass(projectDir.resolve("build/classes/java/main/test/View" + i + "Base.class"));
+        }
+
+        assertFalse(Files.exists(projectDir.resolve("build/tmp/compileFxml/batches/0")));
+    }
+
+    private Map<String, byte[]> readClasses() throws IOException {
+        Path classesDir = projectDir.resolve("build/classes/java/main");
+        Map<String, byte[]> result = new TreeMap<>();
+
+        try (var files = Files.walk(classesDir)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                result.put(classesDir.relativize(file).toString(), Files.readAllBytes(file));
+            }
+        }
+
+        return result;
+    }
+}
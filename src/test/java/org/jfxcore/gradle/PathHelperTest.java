@@ -42,6 +42,19 @@ class PathHelperTest {
         assertTrue(PathHelper.getDescriptorFiles(ordinaryFile.toFile()).isEmpty());
     }
 
+    @Test
+    void deletesDirectoryContentsButKeepsDirectory() throws IOException {
+        write("outputs/View.java");
+        write("outputs/nested/Other.java");
+        Path emptyDir = Files.createDirectories(tempDir.resolve("empty"));
+
+        assertTrue(PathHelper.deleteContents(tempDir.resolve("outputs").toFile()));
+        assertTrue(Files.isDirectory(tempDir.resolve("outputs")));
+        assertEquals(0, tempDir.resolve("outputs").toFile().list().length);
+        assertFalse(PathHelper.deleteContents(emptyDir.toFile()));
+        assertFalse(PathHelper.deleteContents(tempDir.resolve("missing").toFile()));
+    }
+
     @Test
     void extractsFileNames() {
         assertEquals("View", PathHelper.getFileNameWithoutExtension(Path.of("nested", "View.fxmd")));
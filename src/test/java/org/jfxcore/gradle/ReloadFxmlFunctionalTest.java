@@ -0,0 +1,94 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReloadFxmlFunctionalTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void requestsReloadOfClassesChangedByMarkupEdit() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path request = projectDir.resolve("build/fxml/reload/main/requests/reload-request.txt");
+
+        var initial = build(projectDir, "reloadFxml");
+        assertOutcome(initial, ":reloadFxml", TaskOutcome.SUCCESS);
+        assertFalse(Files.exists(request));
+
+        Files.writeString(projectDir.resolve("src/main/java/test/MainView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.MainView"
+                  prefWidth="321"/>
+        """);
+
+        var edited = build(projectDir, "reloadFxml");
+        assertOutcome(edited, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(edited, ":reloadFxml", TaskOutcome.SUCCESS);
+
+        String requestText = Files.readString(request);
+        assertTrue(requestText.startsWith("test.MainViewBase\t"), requestText);
+        assertTrue(requestText.contains("MainViewBase.class"), requestText);
+
+        Files.delete(request);
+        var unchanged = build(projectDir, "reloadFxml");
+        assertOutcome(unchanged, ":reloadFxml", TaskOutcome.SUCCESS);
+        assertFalse(Files.exists(request));
+    }
+
+    @Test
+    void unconsumedRequestIsMergedIntoNextRequest() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path request = projectDir.resolve("build/fxml/reload/main/requests/reload-request.txt");
+        build(projectDir, "reloadFxml");
+
+        Files.writeString(projectDir.resolve("src/main/java/test/MainView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.MainView"
+                  prefWidth="321"/>
+        """);
+
+        build(projectDir, "reloadFxml");
+
+        Files.writeString(projectDir.resolve("src/main/java/test/SecondView.java"), """
+            package test;
+
+            public class SecondView extends SecondViewBase {
+                public SecondView() {
+                    initializeComponent();
+                }
+            }
+        """);
+
+        Files.writeString(projectDir.resolve("src/main/java/test/SecondView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.SecondView"/>
+        """);
+
+        build(projectDir, "reloadFxml");
+
+        String requestText = Files.readString(request);
+        assertTrue(requestText.contains("test.MainViewBase\t"), requestText);
+        assertTrue(requestText.contains("test.SecondViewBase\t"), requestText);
+    }
+}
@@ -0,0 +1,101 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RerunDiagnosticsFunctionalTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void explainsWhichFxmlInputsCausedTasksToRerun() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+        Files.writeString(buildScript, Files.readString(buildScript).replace(
+            "sourceFileExtensions = listOf(\"fxmlx\")",
+            "sourceFileExtensions = listOf(\"fxmlx\")\n    explainReruns = true"));
+
+        var initial = build(projectDir, "classes");
+
+        assertOutcome(initial, ":processFxml", TaskOutcome.SUCCESS);
+        assertTrue(initial.getOutput().contains(
+            ":processFxml was executed because no previous execution was recorded."));
+
+        Files.writeString(projectDir.resolve("src/main/java/test/MainView.fxmlx"), """
+            <?import javafx.scene.layout.*?>
+
+            <Pane xmlns="http://javafx.com/javafx"
+                  xmlns:fx="http://jfxcore.org/fxml/2.0"
+                  fx:subclass="test.MainView"
+                  prefWidth="123"/>
+        """);
+
+        var edited = build(projectDir, "classes");
+
+        assertOutcome(edited, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(edited, ":compileJava", TaskOutcome.UP_TO_DATE);
+        assertOutcome(edited, ":compileFxml", TaskOutcome.SUCCESS);
+        assertTrue(edited.getOutput().contains(":processFxml was executed because:"), edited.getOutput());
+        assertTrue(edited.getOutput().contains("FXML file src/main/java/test/MainView.fxmlx has changed"));
+        assertFalse(edited.getOutput().contains("classpath entry"));
+        assertTrue(edited.getOutput().contains(":compileFxml was executed because:"));
+        assertTrue(edited.getOutput().contains(
+            "FXML descriptor build/fxml/default/main/test/MainViewBase.fxmd has changed"));
+
+        Files.writeString(projectDir.resolve("src/main/java/test/App.java"), """
+            package test;
+
+            public class App {
+                public String value() {
+                    return "changed";
+                }
+            }
+            """);
+
+        var javaOnly = build(projectDir, "classes");
+
+        assertOutcome(javaOnly, ":processFxml", TaskOutcome.UP_TO_DATE);
+        assertOutcome(javaOnly, ":compileJava", TaskOutcome.SUCCESS);
+        assertTrue(javaOnly.getOutput().contains(
+            ":compileJava was executed, but none of its FXML inputs have changed."));
+    }
+
+    @Test
+    void failedExecutionDoesNotReplaceSnapshot() throws IOException {
+        copyFixture("lifecycle", projectDir);
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+        Files.writeString(buildScript, Files.readString(buildScript).replace(
+            "sourceFileExtensions = listOf(\"fxmlx\")",
+            "sourceFileExtensions = listOf(\"fxmlx\")\n    explainReruns = true"));
+
+        assertOutcome(build(projectDir, "classes"), ":compileJava", TaskOutcome.SUCCESS);
+
+        Path appSource = projectDir.resolve("src/main/java/test/App.java");
+        String validSource = Files.readString(appSource);
+        Files.writeString(appSource, validSource.replace("class App", "class App extends MissingType"));
+        Files.writeString(buildScript, Files.readString(buildScript).replace(
+            "explainReruns = true", "explainReruns = true\n    annotationProcessing = true"));
+
+        var failed = runner(projectDir, "classes").buildAndFail();
+
+        assertTrue(failed.getOutput().contains("annotation processing has changed"), failed.getOutput());
+
+        Files.writeString(appSource, validSource);
+
+        var fixed = build(projectDir, "classes");
+
+        assertOutcome(fixed, ":compileJava", TaskOutcome.SUCCESS);
+        assertTrue(fixed.getOutput().contains("annotation processing has changed"), fixed.getOutput());
+    }
+}
@@ -0,0 +1,91 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle;
+
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.jfxcore.gradle.TestProject.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubGenerationFunctionalTest {
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    void javadocUsesStubsWithoutCompilingOrRewritingClasses() throws IOException {
+        copyFixture("lifecycle", projectDir);
+
+        var result = build(projectDir, "javadoc");
+
+        assertOutcome(result, ":generateFxmlStubs", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":javadoc", TaskOutcome.SUCCESS);
+        assertNull(result.task(":processFxml"));
+        assertNull(result.task(":compileJava"));
+        assertTrue(Files.isRegularFile(
+            projectDir.resolve("build/generated/sources/fxmlStubs/java/main/test/MainViewBase.java")));
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/docs/javadoc/test/MainViewBase.html")));
+        assertFalse(Files.exists(projectDir.resolve("build/fxml/default/main")));
+
+        var full = build(projectDir, "classes", "javadoc");
+
+        assertOutcome(full, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(full, ":generateFxmlStubs", TaskOutcome.UP_TO_DATE);
+        assertOutcome(full, ":javadoc", TaskOutcome.UP_TO_DATE);
+        assertCompiledClass(projectDir.resolve("build/classes/java/main/test/MainViewBase.class"));
+    }
+
+    @Test
+    void stubsOfProcessFxmlAreReusedInTheSameBuild() throws IOException {
+        copyFixture("lifecycle", projectDir);
+
+        var result = build(projectDir, "classes", "javadoc");
+
+        assertOutcome(result, ":processFxml", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":generateFxmlStubs", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":javadoc", TaskOutcome.SUCCESS);
+        assertFalse(result.getOutput().contains("FXML stub"), result.getOutput());
+        assertEquals(
+            Files.readString(projectDir.resolve("build/generated/sources/fxml/java/main/test/MainViewBase.java")),
+            Files.readString(projectDir.resolve("build/generated/sources/fxmlStubs/java/main/test/MainViewBase.java")));
+    }
+
+    @Test
+    void javadocWithAnnotationProcessingDocumentsCompiledClasses() throws IOException {
+        copyFixture("annotation-processing", projectDir);
+        Path buildScript = projectDir.resolve("build.gradle.kts");
+
+        Files.writeString(
+            buildScript,
+            Files.readString(buildScript).replace("annotationProcessing = false", "annotationProcessing = true"));
+
+        Files.writeString(projectDir.resolve("src/main/java/test/InlineView.java"), """
+            package test;
+
+            import javafx.scene.layout.Pane;
+            import org.jfxcore.markup.ComponentView;
+
+            /** Documented view. */
+            @ComponentView("<Pane/>")
+            public class InlineView extends InlineViewBase {
+                /** Creates the view. */
+                public InlineView() {
+                    initializeComponent();
+                }
+            }
+            """);
+
+        var result = build(projectDir, "javadoc");
+
+        assertOutcome(result, ":compileJava", TaskOutcome.SUCCESS);
+        assertOutcome(result, ":javadoc", TaskOutcome.SUCCESS);
+        assertNull(result.task(":generateFxmlStubs"));
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/docs/javadoc/test/InlineView.html")));
+    }
+}
@@ -30,6 +30,11 @@ final class TestProject {
     static final String MINIMUM_GRADLE_VERSION = "8.10.2";
     static final String WRAPPER_GRADLE_VERSION = "9.3.1";
 
+    /**
+     * The message of the XML parser for a document that ends before its root element is complete.
+     */
+    static final String MALFORMED_DOCUMENT_ERROR = "XML document structures must start and end within the same entity";
+
     private TestProject() {}
 
     static void copyFixture(String fixtureName, Path destination) throws IOException {
@@ -130,6 +135,17 @@ final class TestProject {
         assertEquals(outcome, task.getOutcome(), () -> taskPath + "\n" + result.getOutput());
     }
 
+    /**
+     * Asserts that the build has failed with the parse error of a document that ends within a start tag,
+     * like {@code <Pane}, and that the error names the document instead of being an internal error.
+     */
+    static void assertParseError(BuildResult result, String fileName) {
+        String output = result.getOutput();
+        assertTrue(output.contains(fileName), output);
+        assertTrue(output.contains(MALFORMED_DOCUMENT_ERROR), output);
+        assertFalse(output.contains("> Internal compiler error"), output);
+    }
+
     static void assertCompiledClass(Path classFile) throws IOException {
         assertTrue(Files.isRegularFile(classFile), () -> "Class file does not exist: " + classFile);
         String contents = Files.readString(classFile, StandardCharsets.ISO_8859_1);
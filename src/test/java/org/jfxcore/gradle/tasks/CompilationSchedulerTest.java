@@ -0,0 +1,85 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompilationSchedulerTest {
+
+    private static final int THREADS = 4;
+    private static final long INVOCATION_OVERHEAD = 2;
+
+    @Test
+    void schedulesLongestBatchesFirstAndBatchesSmallDocuments() {
+        var batches = CompilationScheduler.schedule(List.of(1L, 50L, 2L, 3L, 40L, 4L), Long::longValue, 10);
+
+        assertEquals(List.of(List.of(50L), List.of(40L), List.of(4L, 3L, 2L, 1L)), batches);
+    }
+
+    @Test
+    void scheduleIsDeterministicForDocumentsOfEqualCost() {
+        var batches = CompilationScheduler.schedule(List.of("a", "b", "c", "d"), item -> 5, 5);
+
+        assertEquals(List.of(List.of("a"), List.of("b"), List.of("c"), List.of("d")), batches);
+    }
+
+    /**
+     * Simulates the compilation of a skewed workload of many small documents and a few very large documents that
+     * happen to fall into the same round-robin partition, and compares the makespan of round-robin partitioning
+     * with the longest-first schedule. Every compiler invocation has a fixed overhead, which is amortized by
+     * batching small documents.
+     */
+    @Test
+    void longestFirstScheduleShortensMakespanOfSkewedWorkload() {
+        var random = new Random(42);
+        List<Long> costs = new ArrayList<>();
+        IntStream.range(0, 1000).forEach(i -> costs.add(1L + random.nextInt(10)));
+        IntStream.range(0, 4).forEach(i -> costs.set(i * THREADS, 800L));
+        long totalCost = costs.stream().mapToLong(Long::longValue).sum();
+
+        long roundRobin = roundRobinMakespan(costs);
+        long unbatched = queueMakespan(CompilationScheduler.schedule(costs, Long::longValue, 0));
+        long batched = queueMakespan(CompilationScheduler.schedule(costs, Long::longValue, totalCost / (THREADS * 8)));
+
+        assertTrue(batched < roundRobin);
+        assertTrue(batched < unbatched);
+        assertTrue(batched <= totalCost / THREADS * 11 / 10);
+    }
+
+    private static long roundRobinMakespan(List<Long> costs) {
+        long[] partitions = new long[THREADS];
+
+        for (int i = 0; i < costs.size(); ++i) {
+            partitions[i % THREADS] += costs.get(i);
+        }
+
+        long makespan = 0;
+        for (long partition : partitions) {
+            makespan = Math.max(makespan, partition + INVOCATION_OVERHEAD);
+        }
+
+        return makespan;
+    }
+
+    private static long queueMakespan(List<List<Long>> batches) {
+        var threads = new PriorityQueue<Long>();
+        for (int i = 0; i < THREADS; ++i) {
+            threads.add(0L);
+        }
+
+        for (List<Long> batch : batches) {
+            long cost = batch.stream().mapToLong(Long::longValue).sum() + INVOCATION_OVERHEAD;
+            threads.add(threads.poll() + cost);
+        }
+
+        return threads.stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+}
@@ -0,0 +1,200 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeapBudgetTest {
+
+    @Test
+    void reservationsWithinBudgetDoNotWait() throws Exception {
+        var budget = new HeapBudget(100);
+
+        try (var first = budget.reserve(40); var second = budget.reserve(60)) {
+            assertEquals(100, budget.getReservedBytes());
+            assertTrue(budget.mustWait(1));
+        }
+
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    void reservationExceedingBudgetIsAdmittedWhenNothingElseRuns() throws Exception {
+        var budget = new HeapBudget(100);
+
+        try (var reservation = budget.reserve(500)) {
+            assertEquals(500, budget.getReservedBytes());
+        }
+
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    void exhaustedBudgetQueuesReservationUntilReleased() throws Exception {
+        var budget = new HeapBudget(100);
+        var started = new CountDownLatch(1);
+        var admitted = new CountDownLatch(1);
+
+        var first = budget.reserve(80);
+
+        Thread thread = new Thread(() -> {
+            started.countDown();
+
+            try (var second = budget.reserve(80)) {
+                admitted.countDown();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        thread.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertFalse(admitted.await(200, TimeUnit.MILLISECONDS));
+
+        first.close();
+
+        assertTrue(admitted.await(10, TimeUnit.SECONDS));
+        thread.join();
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    void smallReservationDoesNotOvertakeWaitingOversizeReservation() throws Exception {
+        var budget = new HeapBudget(100);
+        var oversizeAdmitted = new CountDownLatch(1);
+        var oversizeRelease = new CountDownLatch(1);
+        var smallAdmitted = new CountDownLatch(1);
+        var first = budget.reserve(80);
+
+        Thread oversize = new Thread(() -> {
+            try (var reservation = budget.reserve(500)) {
+                oversizeAdmitted.countDown();
+                oversizeRelease.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        oversize.start();
+        awaitWaitingReservations(budget, 1);
+
+        Thread small = new Thread(() -> {
+            try (var reservation = budget.reserve(10)) {
+                smallAdmitted.countDown();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        small.start();
+        awaitWaitingReservations(budget, 2);
+        assertFalse(smallAdmitted.await(200, TimeUnit.MILLISECONDS));
+
+        first.close();
+
+        assertTrue(oversizeAdmitted.await(10, TimeUnit.SECONDS));
+        assertFalse(smallAdmitted.await(200, TimeUnit.MILLISECONDS));
+
+        oversizeRelease.countDown();
+
+        assertTrue(smallAdmitted.await(10, TimeUnit.SECONDS));
+        oversize.join();
+        small.join();
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    void interruptedReservationLeavesQueue() throws Exception {
+        var budget = new HeapBudget(100);
+        var interrupted = new CountDownLatch(1);
+        var smallAdmitted = new CountDownLatch(1);
+        var first = budget.reserve(80);
+
+        Thread oversize = new Thread(() -> {
+            try (var reservation = budget.reserve(500)) {
+                fail("Reservation was admitted");
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+        });
+
+        oversize.start();
+        awaitWaitingReservations(budget, 1);
+
+        Thread small = new Thread(() -> {
+            try (var reservation = budget.reserve(10)) {
+                smallAdmitted.countDown();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        small.start();
+        awaitWaitingReservations(budget, 2);
+        oversize.interrupt();
+
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+        assertTrue(smallAdmitted.await(10, TimeUnit.SECONDS));
+        small.join();
+        first.close();
+        assertEquals(0, budget.getReservedBytes());
+        assertEquals(0, budget.getWaitingReservations());
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedBudget() throws Exception {
+        var budget = new HeapBudget(100);
+        var maxReserved = new AtomicInteger();
+        Thread[] threads = new Thread[16];
+
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100; ++j) {
+                    try (var reservation = budget.reserve(30)) {
+                        maxReserved.accumulateAndGet((int)budget.getReservedBytes(), Math::max);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(maxReserved.get() <= 100, () -> "Reserved " + maxReserved.get() + " of 100 bytes");
+        assertEquals(0, budget.getReservedBytes());
+    }
+
+    @Test
+    void closingReservationTwiceReleasesItOnce() throws Exception {
+        var budget = new HeapBudget(100);
+        var first = budget.reserve(30);
+        var second = budget.reserve(30);
+
+        first.close();
+        first.close();
+
+        assertEquals(30, budget.getReservedBytes());
+        second.close();
+    }
+
+    private static void awaitWaitingReservations(HeapBudget budget, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (budget.getWaitingReservations() < count) {
+            assertTrue(System.nanoTime() < deadline, "Reservations did not start waiting");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalOutputCacheTest {
+
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 50;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void concurrentRestoresShareTheFileLock() throws Exception {
+        var cache = new LocalOutputCache(tempDir.resolve("cache"), 512);
+        storeEntry(cache, "key");
+
+        List<List<Path>> results = runConcurrently(index -> cache.restore(
+            "key", tempDir.resolve("java-" + index), tempDir.resolve("fxmd-" + index)));
+
+        for (List<Path> stubs : results) {
+            assertEquals(List.of(Path.of("test/View.java")), stubs);
+        }
+
+        assertTrue(Files.isRegularFile(tempDir.resolve("fxmd-0/test/View.fxmd")));
+    }
+
+    @Test
+    void concurrentRestoresAndStoresDoNotFail() throws Exception {
+        var cache = new LocalOutputCache(tempDir.resolve("cache"), 512);
+        storeEntry(cache, "key");
+
+        List<List<Path>> results = runConcurrently(index -> {
+            if (index % 2 == 0) {
+                storeEntry(cache, "key-" + index);
+                return List.of();
+            }
+
+            return cache.restore("key", tempDir.resolve("java-" + index), tempDir.resolve("fxmd-" + index));
+        });
+
+        for (int i = 1; i < results.size(); i += 2) {
+            assertEquals(List.of(Path.of("test/View.java")), results.get(i));
+        }
+    }
+
+    private void storeEntry(LocalOutputCache cache, String key) throws Exception {
+        Path genSrcDir = Files.createDirectories(tempDir.resolve("source-" + key + "/java/test"));
+        Path intermediateBuildDir = Files.createDirectories(tempDir.resolve("source-" + key + "/fxmd/test"));
+        Files.writeString(genSrcDir.resolve("View.java"), "class View {}");
+        Files.writeString(intermediateBuildDir.resolve("View.fxmd"), "descriptor");
+        cache.store(key, genSrcDir.getParent(), intermediateBuildDir.getParent());
+    }
+
+    /**
+     * Runs the action on several threads at the same time, and returns the results of all iterations.
+     */
+    private static List<List<Path>> runConcurrently(CacheAction action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+
+        try {
+            List<Future<List<Path>>> futures = new ArrayList<>();
+
+            for (int i = 0; i < THREADS * ITERATIONS; ++i) {
+                int index = i;
+
+                futures.add(executor.submit(() -> {
+                    if (index < THREADS) {
+                        barrier.await();
+                    }
+
+                    return action.run(index);
+                }));
+            }
+
+            List<List<Path>> results = new ArrayList<>();
+
+            for (Future<List<Path>> future : futures) {
+                results.add(future.get());
+            }
+
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private interface CacheAction {
+        List<Path> run(int index) throws Exception;
+    }
+}
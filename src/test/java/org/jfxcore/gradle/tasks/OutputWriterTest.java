@@ -0,0 +1,58 @@
+// Copyright (c) 2026, JFXcore. All rights reserved.
+// Use of this source code is governed by the BSD-3-Clause license that can be found in the LICENSE file.
+
+package org.jfxcore.gradle.tasks;
+
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutputWriterTest {
+
+    @Test
+    void completesAllWritesBeforeClosing() throws Exception {
+        Set<Integer> written = ConcurrentHashMap.newKeySet();
+
+        try (var writer = new OutputWriter()) {
+            for (int i = 0; i < 1000; ++i) {
+                int value = i;
+                writer.submit(() -> written.add(value));
+            }
+        }
+
+        assertEquals(1000, written.size());
+    }
+
+    @Test
+    void reportsFirstFailureInSubmissionOrder() throws Exception {
+        Set<Integer> written = ConcurrentHashMap.newKeySet();
+
+        for (int run = 0; run < 20; ++run) {
+            written.clear();
+            var writer = new OutputWriter();
+
+            for (int i = 0; i < 200; ++i) {
+                int value = i;
+                writer.submit(() -> {
+                    if (value == 150 || value == 40) {
+                        throw new IOException("failed " + value);
+                    }
+
+                    written.add(value);
+                });
+            }
+
+            IOException ex = assertThrows(IOException.class, writer::close);
+            assertEquals("failed 40", ex.getMessage());
+
+            for (int i = 0; i < 40; ++i) {
+                assertTrue(written.contains(i));
+            }
+
+            assertTrue(writer.hasFailed());
+        }
+    }
+}
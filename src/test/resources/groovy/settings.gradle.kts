@@ -0,0 +1,7 @@
+rootProject.name = "groovy-functional-test"
+
+buildCache {
+    local {
+        directory = file(".gradle/build-cache")
+    }
+}
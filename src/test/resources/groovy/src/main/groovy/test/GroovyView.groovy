@@ -0,0 +1,7 @@
+package test
+
+class GroovyView {
+    MainView createView() {
+        return new MainView()
+    }
+}
@@ -0,0 +1,23 @@
+plugins {
+    java
+    id("org.openjfx.javafxplugin") version "0.1.0"
+    id("org.jfxcore.fxmlplugin")
+}
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(17)
+    }
+}
+
+javafx {
+    modules("javafx.controls")
+}
+
+fxml {
+    sourceFileExtensions = listOf("fxmlx")
+}
@@ -0,0 +1,7 @@
+rootProject.name = "resources-functional-test"
+
+buildCache {
+    local {
+        directory = file(".gradle/build-cache")
+    }
+}
@@ -0,0 +1,7 @@
+package test;
+
+public class MainView extends MainViewBase {
+    public MainView() {
+        initializeComponent();
+    }
+}